@@ -0,0 +1,120 @@
+package com.example.taskflow.config;
+
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import com.example.taskflow.user.service.JwtService;
+import com.example.taskflow.user.service.TokenVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass through {@link JwtAuthenticationFilter#doFilterInternal} with a
+ * {@link MockFilterChain}. The repository and user lookup are in-memory stubs,
+ * so this measures the filter's own work, not the database:
+ * <ul>
+ *   <li>{@code embedded} — cookie token carrying the principal claims</li>
+ *   <li>{@code legacy} — bearer token with only a subject, resolved through the {@link UserDetailsService}</li>
+ *   <li>{@code anonymous} — no token at all</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"embedded", "legacy", "anonymous"})
+    public String token;
+
+    private JwtAuthenticationFilter filter;
+    private String embeddedToken;
+    private String legacyToken;
+
+    @Setup
+    public void setUp() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        JwtService jwtService = new JwtService();
+        jwtService.setSecretKey(Base64.getEncoder().encodeToString(secret));
+        jwtService.setExpirationTime(3_600_000L);
+        jwtService.setClaimsCacheMaximumSize(10_000);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        TokenVersionService tokenVersionService = new TokenVersionService(userRepositoryStub());
+        ReflectionTestUtils.setField(tokenVersionService, "maximumSize", 100_000L);
+        ReflectionTestUtils.setField(tokenVersionService, "expireAfterWrite", Duration.ofMinutes(10));
+        ReflectionTestUtils.invokeMethod(tokenVersionService, "init");
+
+        User user = new User("bench", "bench@taskflow.local", "{noop}secret");
+        user.setId(42L);
+        user.setEnabled(true);
+        UserDetailsService userDetailsService = email -> user;
+
+        filter = new JwtAuthenticationFilter(jwtService, tokenVersionService, userDetailsService,
+                (request, response, handler, ex) -> null, new SimpleMeterRegistry());
+        filter.init();
+
+        embeddedToken = jwtService.generateToken(user);
+        legacyToken = jwtService.generateToken(new HashMap<>(), user);
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        switch (token) {
+            case "embedded" -> request.setCookies(new Cookie("jwt", embeddedToken));
+            case "legacy" -> request.addHeader("Authorization", "Bearer " + legacyToken);
+            default -> {
+            }
+        }
+        MockFilterChain chain = new MockFilterChain();
+        try {
+            filter.doFilterInternal(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // ── every user is on token version 0 ──
+    private static UserRepository userRepositoryStub() {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findTokenVersionById" -> Optional.of(0L);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "UserRepositoryStub";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.taskflow.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one signup ({@code encode}) and one login ({@code matches}): plain
+ * BCrypt (default strength) and Argon2 (Spring Security defaults) on the calling
+ * thread, versus the encoder {@link ApplicationConfiguration#passwordEncoder}
+ * actually configures — calibrated to 250 ms and handed off to the hashing
+ * pool. Run with {@code -t <n>} to see the pool cap throughput at the core count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"bcrypt", "argon2", "configured"})
+    public String encoder;
+
+    private PasswordEncoder passwordEncoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        switch (encoder) {
+            case "bcrypt" -> passwordEncoder = new BCryptPasswordEncoder();
+            case "argon2" -> passwordEncoder = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            default -> {
+                ApplicationConfiguration configuration = new ApplicationConfiguration(null);
+                ReflectionTestUtils.setField(configuration, "hashingQueueCapacity", 1024);
+                ReflectionTestUtils.setField(configuration, "hashingAlgorithm", "bcrypt");
+                ReflectionTestUtils.setField(configuration, "hashingTargetTime", Duration.ofMillis(250));
+                passwordEncoder = configuration.passwordEncoder(new SimpleMeterRegistry());
+            }
+        }
+        hash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (passwordEncoder instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, hash);
+    }
+}
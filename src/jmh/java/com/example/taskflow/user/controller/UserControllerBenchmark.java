@@ -0,0 +1,60 @@
+package com.example.taskflow.user.controller;
+
+import com.example.taskflow.user.dto.UserResponse;
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity → {@link UserResponse} mapping behind {@code GET /users}, over an
+ * in-memory user list so only the controller's mapping is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserControllerBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int users;
+
+    private UserController userController;
+
+    @Setup
+    public void setUp() {
+        List<User> all = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            User user = new User("user" + i, "user" + i + "@taskflow.local", "{noop}secret");
+            user.setId((long) i);
+            user.setEnabled(i % 2 == 0);
+            all.add(user);
+        }
+        userController = new UserController(new UserService(null) {
+            @Override
+            public List<User> allUsers() {
+                return all;
+            }
+        });
+    }
+
+    @Benchmark
+    public List<UserResponse> allUsers() {
+        return userController.allUsers().getBody();
+    }
+}
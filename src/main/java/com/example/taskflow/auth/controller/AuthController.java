@@ -4,12 +4,15 @@ import com.example.taskflow.auth.dto.AuthResponse;
 import com.example.taskflow.auth.dto.LoginRequest;
 import com.example.taskflow.auth.dto.RegisterRequest;
 import com.example.taskflow.auth.service.AuthenticationService;
+import com.example.taskflow.auth.service.LoginThrottle;
+import com.example.taskflow.exception.TooManyRequestsException;
 import com.example.taskflow.user.entity.User;
 import com.example.taskflow.user.service.JwtService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +25,7 @@ public class AuthController {
 
     private final JwtService jwtService;
     private final AuthenticationService authenticationService;
+    private final LoginThrottle loginThrottle;
 
     // ─── LOGIN ─────────────────────────────────────────────────
 
@@ -37,6 +41,9 @@ public class AuthController {
                         @RequestParam String password,
                         HttpServletResponse response,
                         RedirectAttributes redirectAttributes) {
+        // before any password hashing: 429 once the email is over its limit
+        // (the per-IP limit is RateLimitFilter's auth bucket)
+        loginThrottle.checkLogin(email);
         try {
             LoginRequest loginRequest = new LoginRequest();
             loginRequest.setEmail(email);
@@ -52,14 +59,37 @@ public class AuthController {
             cookie.setMaxAge(3600); // 1 hour
             response.addCookie(cookie);
 
+            loginThrottle.loginSucceeded(email);
             return "redirect:/";
 
+        } catch (TooManyRequestsException e) {
+            // hashing queue full — answered with 429, not as a failed login
+            throw e;
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", "Invalid email or password");
             return "redirect:/auth/login";
         }
     }
 
+    // ─── SIGN OUT EVERYWHERE ───────────────────────────────────
+    // Revokes every token of the user, this browser's included, and drops its cookie
+
+    @PostMapping("/logout-all")
+    public String logoutAll(HttpServletResponse response,
+                            RedirectAttributes redirectAttributes) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        authenticationService.signOutEverywhere(user);
+
+        Cookie cookie = new Cookie("jwt", "");
+        cookie.setHttpOnly(true);
+        cookie.setPath("/");
+        cookie.setMaxAge(0);
+        response.addCookie(cookie);
+
+        redirectAttributes.addFlashAttribute("success", "Signed out on all devices");
+        return "redirect:/auth/login";
+    }
+
     // ─── SIGNUP ────────────────────────────────────────────────
 
     @GetMapping("/signup")
@@ -99,6 +129,8 @@ public class AuthController {
                     "Account created! Check your email for the verification code.");
             return "redirect:/auth/verify";
 
+        } catch (TooManyRequestsException e) {
+            throw e;
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
             redirectAttributes.addFlashAttribute("email", email);
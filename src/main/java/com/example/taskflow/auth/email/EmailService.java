@@ -1,5 +1,8 @@
 package com.example.taskflow.auth.email;
 
+import com.example.taskflow.exception.MailQueueFullException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -7,13 +10,24 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
     private final JavaMailSender javaMailSender;
+    private final MailQueue mailQueue;
+    private final MeterRegistry meterRegistry;
 
-    public void sendVerificationEmail(String toEmail, String verificationCode) throws MessagingException {
+    /**
+     * Hands the verification email to the {@link MailQueue} and returns without
+     * waiting for SMTP. The returned future completes once the mail is delivered.
+     * <p>
+     * Time from hand-off to delivery (queueing and retries included) is recorded
+     * as {@code taskflow.email.send}, tagged {@code outcome=sent|failed|rejected}.
+     */
+    public CompletableFuture<Void> sendVerificationEmail(String toEmail, String verificationCode) throws MessagingException {
         MimeMessage mimeMessage = javaMailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
 
@@ -21,7 +35,23 @@ public class EmailService {
         helper.setSubject("Taskflow – Verify Your Email");
         helper.setText(buildEmailHtml(verificationCode), true);
 
-        javaMailSender.send(mimeMessage);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<Void> delivery;
+        try {
+            delivery = mailQueue.submit(mimeMessage);
+        } catch (MailQueueFullException e) {
+            sample.stop(sendTimer("rejected"));
+            throw e;
+        }
+        return delivery.whenComplete((sent, failure) ->
+                sample.stop(sendTimer(failure == null ? "sent" : "failed")));
+    }
+
+    private Timer sendTimer(String outcome) {
+        return Timer.builder("taskflow.email.send")
+                .tag("type", "verification")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     private String buildEmailHtml(String code) {
@@ -0,0 +1,193 @@
+package com.example.taskflow.auth.email;
+
+import com.example.taskflow.exception.MailQueueFullException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound mail queue that keeps SMTP off the request thread.
+ * <p>
+ * A fixed number of virtual-thread workers drain the bounded queue in batches;
+ * each batch goes out over a single SMTP connection. Failed messages are retried
+ * with exponential backoff, and {@link #submit(MimeMessage)} rejects new mail
+ * once the queue stays full for longer than the offer timeout.
+ * <p>
+ * Each SMTP round trip is timed as {@code taskflow.mail.smtp}
+ * ({@code outcome=success|failure}); {@code taskflow.mail.queue} is the depth.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailQueue {
+
+    private final JavaMailSender javaMailSender;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${taskflow.mail.queue.capacity:1000}")
+    private int capacity;
+
+    @Value("${taskflow.mail.queue.workers:2}")
+    private int workers;
+
+    @Value("${taskflow.mail.queue.batch-size:20}")
+    private int batchSize;
+
+    @Value("${taskflow.mail.queue.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${taskflow.mail.queue.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${taskflow.mail.queue.offer-timeout:100ms}")
+    private Duration offerTimeout;
+
+    private BlockingQueue<PendingMail> queue;
+    private ExecutorService workerThreads;
+    private Timer smtpSuccess;
+    private Timer smtpFailure;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        smtpSuccess = meterRegistry.timer("taskflow.mail.smtp", "outcome", "success");
+        smtpFailure = meterRegistry.timer("taskflow.mail.smtp", "outcome", "failure");
+        Gauge.builder("taskflow.mail.queue", queue, BlockingQueue::size)
+                .register(meterRegistry);
+        workerThreads = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("mail-worker-", 0).factory());
+        for (int i = 0; i < workers; i++) {
+            workerThreads.submit(this::drainLoop);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        workerThreads.shutdownNow();
+        workerThreads.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queues the message and returns immediately. The future completes once the
+     * message was accepted by the SMTP server, or exceptionally after the last retry.
+     *
+     * @throws MailQueueFullException if the queue is still full after the offer timeout
+     */
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        PendingMail pending = new PendingMail(message, new CompletableFuture<>());
+        try {
+            if (!queue.offer(pending, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new MailQueueFullException(
+                        "Too many emails are waiting to be sent, please try again shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailQueueFullException("Interrupted while queueing email");
+        }
+        return pending.result();
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    // ── worker: block for one message, then take whatever else is waiting ──
+    private void drainLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<PendingMail> batch = new ArrayList<>(batchSize);
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                try {
+                    sendWithRetry(batch);
+                } catch (RuntimeException e) {
+                    // fail this batch only: the worker must outlive any one bad message
+                    log.error("Email batch of {} failed unexpectedly", batch.size(), e);
+                    batch.forEach(pending -> pending.result().completeExceptionally(e));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendWithRetry(List<PendingMail> batch) throws InterruptedException {
+        List<PendingMail> remaining = batch;
+        for (int attempt = 1; ; attempt++) {
+            MailException failure;
+            long start = System.nanoTime();
+            try {
+                // one Transport connection for the whole batch
+                javaMailSender.send(remaining.stream()
+                        .map(PendingMail::message)
+                        .toArray(MimeMessage[]::new));
+                smtpSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                remaining.forEach(pending -> pending.result().complete(null));
+                return;
+            } catch (MailSendException e) {
+                failure = e;
+                remaining = stillFailed(remaining, e.getFailedMessages());
+            } catch (MailException e) {
+                failure = e;
+            }
+            smtpFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (remaining.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                log.warn("Giving up on {} email(s) after {} attempts", remaining.size(), attempt, failure);
+                for (PendingMail pending : remaining) {
+                    pending.result().completeExceptionally(failure);
+                }
+                return;
+            }
+            log.debug("Email send attempt {} failed for {} message(s), retrying", attempt, remaining.size());
+            Thread.sleep(initialBackoff.toMillis() << (attempt - 1));
+        }
+    }
+
+    // ── messages missing from the failure map were delivered on this attempt ──
+    private static List<PendingMail> stillFailed(List<PendingMail> attempted, Map<Object, Exception> failedMessages) {
+        if (failedMessages.isEmpty()) {
+            return attempted;
+        }
+        List<PendingMail> failed = new ArrayList<>();
+        for (PendingMail pending : attempted) {
+            if (failedMessages.containsKey(pending.message())) {
+                failed.add(pending);
+            } else {
+                pending.result().complete(null);
+            }
+        }
+        return failed;
+    }
+
+    private record PendingMail(MimeMessage message, CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.taskflow.auth.email;
+
+import com.example.taskflow.auth.email.entity.OutboxEmail;
+import com.example.taskflow.auth.email.repository.OutboxEmailRepository;
+import com.example.taskflow.exception.MailQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the email outbox and feeds due rows to the {@link MailQueue}.
+ * <p>
+ * Claiming a batch pushes each row's {@code nextAttemptAt} out by a lease, so
+ * rows whose delivery never reports back (e.g. the node restarted) are picked up
+ * again once the lease runs out. A row still queued when its lease ran out
+ * would be claimed and sent a second time, so at most
+ * {@code taskflow.mail.outbox.max-in-flight} claimed rows are unfinished at any
+ * time: the mail workers must get through that many within one lease, retries
+ * included. A row the mail queue rejects is released for the next poll.
+ * <p>
+ * A row whose last attempt fails is given up on: logged at WARN and counted in
+ * {@code taskflow.mail.outbox.abandoned}. Sent and abandoned rows are deleted
+ * once they are older than {@code taskflow.mail.outbox.retention}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxDispatcher {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailService emailService;
+    private final MailQueue mailQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${taskflow.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${taskflow.mail.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${taskflow.mail.outbox.lease:2m}")
+    private Duration lease;
+
+    @Value("${taskflow.mail.outbox.retry-backoff:30s}")
+    private Duration retryBackoff;
+
+    @Value("${taskflow.mail.outbox.retention:7d}")
+    private Duration retention;
+
+    @Value("${taskflow.mail.outbox.max-in-flight:80}")
+    private int maxInFlight;
+
+    // claimed rows handed to the mail queue whose delivery has not reported back yet
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private Counter abandoned;
+
+    @PostConstruct
+    void init() {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("taskflow.mail.outbox.max-in-flight must be positive");
+        }
+        abandoned = meterRegistry.counter("taskflow.mail.outbox.abandoned");
+    }
+
+    // ─── DISPATCH ──────────────────────────────────────────────────
+
+    @Scheduled(fixedDelayString = "${taskflow.mail.outbox.poll-interval:1s}")
+    public void dispatch() {
+        int limit;
+        List<OutboxEmail> claimed;
+        do {
+            limit = Math.min(Math.min(batchSize, mailQueue.remainingCapacity()),
+                    maxInFlight - inFlight.get());
+            if (limit <= 0) {
+                return;
+            }
+            claimed = claim(limit);
+            claimed.forEach(this::handOver);
+        } while (claimed.size() == limit);
+    }
+
+    // ─── PURGE ─────────────────────────────────────────────────────
+    @Scheduled(fixedDelayString = "${taskflow.mail.outbox.purge-interval:1h}")
+    public void purgeFinished() {
+        int purged = outboxEmailRepository.deleteFinishedBefore(
+                LocalDateTime.now().minus(retention), maxAttempts);
+        if (purged > 0) {
+            log.info("Purged {} sent or abandoned outbox emails older than {}", purged, retention);
+        }
+    }
+
+    // ── helpers ──
+
+    private List<OutboxEmail> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEmail> due = outboxEmailRepository.lockDue(now, maxAttempts, limit);
+            due.forEach(email -> email.setNextAttemptAt(now.plus(lease)));
+            return due;
+        });
+    }
+
+    private void handOver(OutboxEmail email) {
+        inFlight.incrementAndGet();
+        try {
+            emailService.sendVerificationEmail(email.getRecipient(), email.getVerificationCode())
+                    .whenComplete((sent, failure) -> {
+                        inFlight.decrementAndGet();
+                        if (failure == null) {
+                            outboxEmailRepository.markSent(email.getId(), LocalDateTime.now());
+                        } else {
+                            markFailed(email);
+                        }
+                    });
+        } catch (MailQueueFullException e) {
+            inFlight.decrementAndGet();
+            // not sent: release the lease so the next poll picks it up again
+            outboxEmailRepository.release(email.getId(), LocalDateTime.now());
+            log.debug("Mail queue full, outbox email {} released", email.getId());
+        } catch (MessagingException e) {
+            inFlight.decrementAndGet();
+            log.warn("Could not build outbox email {}", email.getId(), e);
+            markFailed(email);
+        }
+    }
+
+    private void markFailed(OutboxEmail email) {
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(email.getAttempts(), 10));
+        outboxEmailRepository.markFailed(email.getId(), LocalDateTime.now().plus(backoff));
+        if (email.getAttempts() + 1 >= maxAttempts) {
+            abandoned.increment();
+            log.warn("Giving up on outbox email {} to {} after {} attempts",
+                    email.getId(), email.getRecipient(), maxAttempts);
+        }
+    }
+}
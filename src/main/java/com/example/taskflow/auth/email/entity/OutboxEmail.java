@@ -0,0 +1,50 @@
+package com.example.taskflow.auth.email.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A verification email waiting to be sent. Rows are written in the same
+ * transaction as the user change that produced the code and drained by
+ * {@link com.example.taskflow.auth.email.OutboxDispatcher}.
+ */
+@Entity
+@Table(name = "email_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String verificationCode;
+
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // ── not picked up before this instant (retry backoff / dispatcher lease) ──
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime sentAt;
+
+    public OutboxEmail(String recipient, String verificationCode, LocalDateTime now) {
+        this.recipient = recipient;
+        this.verificationCode = verificationCode;
+        this.createdAt = now;
+        this.nextAttemptAt = now;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskflow.auth.email.repository;
+
+import com.example.taskflow.auth.email.entity.OutboxEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Locks up to {@code limit} due, unsent rows. Rows locked by another
+     * dispatcher are skipped rather than waited on.
+     */
+    @Query(value = """
+            select * from email_outbox
+            where sent_at is null
+              and attempts < :maxAttempts
+              and next_attempt_at <= :now
+            order by id
+            limit :limit
+            for update skip locked
+            """, nativeQuery = true)
+    List<OutboxEmail> lockDue(@Param("now") LocalDateTime now,
+                              @Param("maxAttempts") int maxAttempts,
+                              @Param("limit") int limit);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEmail o set o.sentAt = :sentAt where o.id = :id")
+    int markSent(@Param("id") Long id, @Param("sentAt") LocalDateTime sentAt);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update OutboxEmail o
+            set o.attempts = o.attempts + 1, o.nextAttemptAt = :nextAttemptAt
+            where o.id = :id
+            """)
+    int markFailed(@Param("id") Long id, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEmail o set o.nextAttemptAt = :now where o.id = :id")
+    int release(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Retention purge: rows sent before {@code cutoff}, and rows created before
+     * it that ran out of attempts without ever being sent.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            delete from OutboxEmail o
+            where o.sentAt < :cutoff
+               or (o.sentAt is null and o.attempts >= :maxAttempts and o.createdAt < :cutoff)
+            """)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Drops unsent codes for a recipient, e.g. when a newer code replaces them.
+     */
+    @Modifying
+    @Query("delete from OutboxEmail o where o.recipient = :recipient and o.sentAt is null")
+    int deleteUnsent(@Param("recipient") String recipient);
+}
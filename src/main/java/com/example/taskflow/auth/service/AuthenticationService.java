@@ -1,17 +1,23 @@
 package com.example.taskflow.auth.service;
 
-import com.example.taskflow.auth.email.EmailService;
+import com.example.taskflow.auth.email.entity.OutboxEmail;
+import com.example.taskflow.auth.email.repository.OutboxEmailRepository;
 import com.example.taskflow.auth.dto.AuthResponse;
 import com.example.taskflow.auth.dto.LoginRequest;
 import com.example.taskflow.auth.dto.RegisterRequest;
 import com.example.taskflow.user.entity.User;
 import com.example.taskflow.user.repository.UserRepository;
-import jakarta.mail.MessagingException;
+import com.example.taskflow.user.service.PasswordUpgradeService;
+import com.example.taskflow.user.service.TokenVersionService;
+import com.example.taskflow.user.service.UserLookupCache;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Random;
@@ -21,22 +27,34 @@ import java.util.Random;
 public class AuthenticationService {
 
     private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final EmailService emailService;
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TokenVersionService tokenVersionService;
+    private final PasswordUpgradeService passwordUpgradeService;
 
     // ─── SIGNUP ────────────────────────────────────────────────
+    @Timed(value = "taskflow.auth", extraTags = {"operation", "signup"})
     public User signup(RegisterRequest request) {
         // Check if email already exists
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+        if (userLookupCache.findByEmail(request.getEmail()).isPresent()) {
             throw new RuntimeException("Email is already registered");
         }
 
+        // Hash before the transaction opens: waiting for a hashing thread
+        // must not hold a pooled DB connection
+        String passwordHash = passwordEncoder.encode(request.getPassword());
+        return transactionTemplate.execute(status -> createUser(request, passwordHash));
+    }
+
+    private User createUser(RegisterRequest request, String passwordHash) {
         // Create user
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHash);
         user.setEnabled(false);
 
         // Generate and set verification code
@@ -45,18 +63,18 @@ public class AuthenticationService {
         user.setVerificationCodeExpiredAt(LocalDateTime.now().plusMinutes(10));
 
         User savedUser = userRepository.save(user);
+        userLookupCache.evict(savedUser.getEmail());
 
-        // Send verification email
-        try {
-            emailService.sendVerificationEmail(savedUser.getEmail(), code);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send verification email");
-        }
+        // Verification email goes to the outbox in the same transaction;
+        // OutboxDispatcher delivers it in the background
+        outboxEmailRepository.save(
+                new OutboxEmail(savedUser.getEmail(), code, LocalDateTime.now()));
 
         return savedUser;
     }
 
     // ─── LOGIN ─────────────────────────────────────────────────
+    @Timed(value = "taskflow.auth", extraTags = {"operation", "authenticate"})
     public User authenticate(LoginRequest request) {
         // This will throw BadCredentialsException if credentials are wrong
         authenticationManager.authenticate(
@@ -66,8 +84,8 @@ public class AuthenticationService {
                 )
         );
 
-        // Credentials valid — load the user
-        User user = userRepository.findByEmail(request.getEmail())
+        // Credentials valid — the provider just loaded this user, so it is cached
+        User user = userLookupCache.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Block login if email is not verified
@@ -75,11 +93,15 @@ public class AuthenticationService {
             throw new RuntimeException("Email is not verified. Please check your inbox.");
         }
 
+        // outdated algorithm or cost: rehash now, or on a later login if the pool is busy
+        passwordUpgradeService.upgradeIfOutdated(user, request.getPassword());
         return user;
     }
 
     // ─── VERIFY ────────────────────────────────────────────────
+    @Timed(value = "taskflow.auth", extraTags = {"operation", "verify"})
     public void VerifyUser(AuthResponse request) {
+        // Mutating paths read a fresh row, never the shared cached instance
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -103,9 +125,12 @@ public class AuthenticationService {
         user.setVerificationCode(null);
         user.setVerificationCodeExpiredAt(null);
         userRepository.save(user);
+        userLookupCache.evict(user.getEmail());
     }
 
     // ─── RESEND ────────────────────────────────────────────────
+    @Transactional
+    @Timed(value = "taskflow.auth", extraTags = {"operation", "resend"})
     public void resendVerificationCode(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found with this email"));
@@ -119,13 +144,18 @@ public class AuthenticationService {
         user.setVerificationCode(code);
         user.setVerificationCodeExpiredAt(LocalDateTime.now().plusMinutes(10));
         userRepository.save(user);
+        userLookupCache.evict(email);
 
-        // Send email
-        try {
-            emailService.sendVerificationEmail(email, code);
-        } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send verification email");
-        }
+        // Replace any code still waiting in the outbox with the new one
+        outboxEmailRepository.deleteUnsent(email);
+        outboxEmailRepository.save(new OutboxEmail(email, code, LocalDateTime.now()));
+    }
+
+    // ─── SIGN OUT EVERYWHERE ───────────────────────────────────
+    @Timed(value = "taskflow.auth", extraTags = {"operation", "logout-all"})
+    public void signOutEverywhere(User user) {
+        // every JWT issued so far carries the old token version and is refused from now on
+        tokenVersionService.revokeIssuedTokens(user);
     }
 
     // ─── HELPER ────────────────────────────────────────────────
@@ -0,0 +1,84 @@
+package com.example.taskflow.auth.service;
+
+import com.example.taskflow.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-window login attempt counters per email, checked before any password
+ * is hashed. A window starts at the first attempt and lasts
+ * {@code taskflow.auth.throttle.window}; a successful login clears it.
+ * Attempts per client IP are limited by the {@code auth} bucket of
+ * {@link com.example.taskflow.config.RateLimitFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginThrottle {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${taskflow.auth.throttle.window:1m}")
+    private Duration window;
+
+    @Value("${taskflow.auth.throttle.max-attempts-per-email:10}")
+    private int maxAttemptsPerEmail;
+
+    @Value("${taskflow.auth.throttle.maximum-size:100000}")
+    private long maximumSize;
+
+    private Cache<String, AtomicInteger> attemptsByEmail;
+    private Counter throttledByEmail;
+
+    @PostConstruct
+    void init() {
+        // counters are only ever mutated in place, so expireAfterWrite is the window start
+        attemptsByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(window)
+                .build();
+        throttledByEmail = meterRegistry.counter("taskflow.auth.throttled", "scope", "email");
+    }
+
+    /**
+     * Counts a login attempt, or throws {@link TooManyRequestsException} if
+     * the email already used up its window.
+     */
+    public void checkLogin(String email) {
+        if (exceeded(attemptsByEmail, normalize(email), maxAttemptsPerEmail)) {
+            throttledByEmail.increment();
+            throw tooManyAttempts(attemptsByEmail, normalize(email));
+        }
+    }
+
+    public void loginSucceeded(String email) {
+        attemptsByEmail.invalidate(normalize(email));
+    }
+
+    // ── helpers ──
+
+    private static boolean exceeded(Cache<String, AtomicInteger> attempts, String key, int max) {
+        return attempts.get(key, k -> new AtomicInteger()).incrementAndGet() > max;
+    }
+
+    private TooManyRequestsException tooManyAttempts(Cache<String, AtomicInteger> attempts, String key) {
+        Duration age = attempts.policy().expireAfterWrite()
+                .flatMap(expiry -> expiry.ageOf(key))
+                .orElse(Duration.ZERO);
+        return new TooManyRequestsException(
+                "Too many attempts, please try again later", window.minus(age));
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.taskflow.config;
 
 import com.example.taskflow.exception.UserNameIsNotFoundException;
-import com.example.taskflow.user.repository.UserRepository;
+import com.example.taskflow.user.service.UserLookupCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,19 +13,52 @@ import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfiguration {
 
-    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+
+    // 0 → one hashing thread per core
+    @Value("${taskflow.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${taskflow.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    // bcrypt | argon2 — new hashes only; stored hashes of either kind still match
+    @Value("${taskflow.password-hashing.algorithm:bcrypt}")
+    private String hashingAlgorithm;
+
+    // work factors left at 0 are calibrated at startup to about this much per hash
+    @Value("${taskflow.password-hashing.target-time:250ms}")
+    private Duration hashingTargetTime;
+
+    @Value("${taskflow.password-hashing.bcrypt.strength:0}")
+    private int bcryptStrength;
+
+    @Value("${taskflow.password-hashing.argon2.iterations:0}")
+    private int argon2Iterations;
+
+    @Value("${taskflow.password-hashing.argon2.memory-kib:19456}")
+    private int argon2MemoryKib;
+
+    @Value("${taskflow.password-hashing.argon2.parallelism:1}")
+    private int argon2Parallelism;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return email -> userRepository.findByEmail(email)
+        return email -> userLookupCache.findByEmail(email)
                 .orElseThrow(() ->
                         new UsernameNotFoundException(
                                 "User with email [" + email + "] not found"
@@ -31,8 +67,53 @@ public class ApplicationConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int threads = hashingThreads > 0
+                ? hashingThreads
+                : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                delegatingPasswordEncoder(), threads, hashingQueueCapacity, meterRegistry);
+    }
+
+    /**
+     * Encodes as {@code {bcrypt}…} or {@code {argon2}…}; unprefixed hashes from
+     * before this change are matched as BCrypt. {@code upgradeEncoding} reports
+     * hashes with another algorithm or weaker parameters, which
+     * {@link com.example.taskflow.user.service.PasswordUpgradeService} rehashes
+     * on the next successful login.
+     */
+    private PasswordEncoder delegatingPasswordEncoder() {
+        boolean argon2 = "argon2".equalsIgnoreCase(hashingAlgorithm);
+        String idForEncode = argon2 ? "argon2" : "bcrypt";
+
+        PasswordEncoder bcrypt;
+        PasswordEncoder argon2Encoder;
+        if (argon2) {
+            int iterations = argon2Iterations > 0
+                    ? argon2Iterations
+                    : PasswordHashCalibration.argon2Iterations(
+                            hashingTargetTime, argon2MemoryKib, argon2Parallelism);
+            log.info("Password hashing: argon2 (memory={}KiB, parallelism={}, iterations={})",
+                    argon2MemoryKib, argon2Parallelism, iterations);
+            argon2Encoder = new Argon2PasswordEncoder(
+                    PasswordHashCalibration.ARGON2_SALT_LENGTH,
+                    PasswordHashCalibration.ARGON2_HASH_LENGTH,
+                    argon2Parallelism, argon2MemoryKib, iterations);
+            // only matches existing hashes, which carry their own cost
+            bcrypt = new BCryptPasswordEncoder();
+        } else {
+            int strength = bcryptStrength > 0
+                    ? bcryptStrength
+                    : PasswordHashCalibration.bcryptStrength(hashingTargetTime);
+            log.info("Password hashing: bcrypt (strength={})", strength);
+            bcrypt = new BCryptPasswordEncoder(strength);
+            argon2Encoder = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(
+                idForEncode, Map.of("bcrypt", bcrypt, "argon2", argon2Encoder));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
     }
 
     @Bean
@@ -43,11 +124,15 @@ public class ApplicationConfiguration {
     }
 
     @Bean
-    AuthenticationProvider authenticationProvider() {
+    AuthenticationProvider authenticationProvider(
+            PasswordEncoder passwordEncoder
+    ) {
         DaoAuthenticationProvider provider =
                 new DaoAuthenticationProvider(userDetailsService());
 
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        // no UserDetailsPasswordService: a rejected rehash here would fail a login
+        // whose password already matched; PasswordUpgradeService rehashes instead
         return provider;
     }
 }
\ No newline at end of file
@@ -0,0 +1,297 @@
+package com.example.taskflow.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Makes writes safe to retry: a POST / PUT / PATCH / DELETE carrying an
+ * {@code Idempotency-Key} header runs once per user, method, path and key;
+ * repeating it within {@code taskflow.idempotency.ttl} replays the stored
+ * response (marked {@code Idempotent-Replayed: true}) instead of applying the
+ * change again. A repeat that arrives while the first is still running gets 409;
+ * a repeat with a different body (form parameters or raw bytes, hashed) gets 422.
+ * <p>
+ * Only successful and redirect responses are stored, so a request that failed
+ * can be retried for real. Registered as a plain servlet filter, which runs
+ * after the security filter chain: anonymous requests pass through untouched.
+ * The store is bounded by the bytes it holds ({@code taskflow.idempotency.maximum-weight}),
+ * not the entry count.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    @Value("${taskflow.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${taskflow.idempotency.maximum-weight:64MB}")
+    private DataSize maximumWeight;
+
+    private Cache<String, StoredResponse> responses;
+
+    @PostConstruct
+    void init() {
+        responses = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((String key, StoredResponse stored) -> stored.weight(key))
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !WRITE_METHODS.contains(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        // form posts are hashed from their parameters (the container has parsed the body);
+        // anything else is read once and handed on from memory
+        HttpServletRequest hashed = request;
+        String requestHash;
+        if (isForm(request)) {
+            requestHash = hash(formBytes(request));
+        } else {
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                reject(response, HttpStatus.CONTENT_TOO_LARGE,
+                        "Bodies over " + MAX_BODY_BYTES + " bytes cannot use " + IDEMPOTENCY_KEY_HEADER);
+                return;
+            }
+            requestHash = hash(body);
+            hashed = new CachedBodyRequest(request, body);
+        }
+
+        String storeKey = authentication.getName() + ' ' + request.getMethod() + ' '
+                + request.getRequestURI() + ' ' + key;
+        StoredResponse previous = responses.asMap().putIfAbsent(storeKey, StoredResponse.inProgress(requestHash));
+        if (previous != null) {
+            if (!previous.requestHash().equals(requestHash)) {
+                reject(response, HttpStatus.UNPROCESSABLE_CONTENT,
+                        IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            } else if (previous.isInProgress()) {
+                reject(response, HttpStatus.CONFLICT,
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still in progress");
+            } else {
+                previous.replay(response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(hashed, wrapper);
+            if (wrapper.getStatus() < 400) {
+                responses.put(storeKey, StoredResponse.of(requestHash, wrapper));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                responses.invalidate(storeKey);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    // ── helpers ──
+
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT)
+                .startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    // name=value pairs in name order, so the order the browser sent them in does not matter
+    private static byte[] formBytes(HttpServletRequest request) {
+        StringBuilder form = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            for (String value : values) {
+                form.append(name.length()).append(':').append(name)
+                        .append(value.length()).append(':').append(value).append('&');
+            }
+        });
+        return form.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every JVM", e);
+        }
+    }
+
+    // ── helper: short plain-text error, like GlobalExceptionHandler ──
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+
+    private record StoredResponse(String requestHash, int status, String contentType,
+                                  Map<String, List<String>> headers, byte[] body) {
+
+        // the session cookie and request id belong to each request; the type and length are fields
+        private static final Set<String> SKIPPED_HEADERS = Set.of(
+                "set-cookie", "x-request-id", "content-type", "content-length");
+
+        static StoredResponse inProgress(String requestHash) {
+            return new StoredResponse(requestHash, 0, null, Map.of(), new byte[0]);
+        }
+
+        static StoredResponse of(String requestHash, ContentCachingResponseWrapper response) {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : response.getHeaderNames()) {
+                if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    headers.put(name, List.copyOf(response.getHeaders(name)));
+                }
+            }
+            return new StoredResponse(requestHash, response.getStatus(), response.getContentType(), headers,
+                    response.getContentAsByteArray());
+        }
+
+        boolean isInProgress() {
+            return status == 0;
+        }
+
+        // approximate heap bytes: the body dominates, headers and the key are counted as text
+        int weight(String key) {
+            long bytes = ENTRY_OVERHEAD_BYTES + key.length() + body.length;
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                bytes += header.getKey().length();
+                for (String value : header.getValue()) {
+                    bytes += value.length();
+                }
+            }
+            return (int) Math.min(bytes, Integer.MAX_VALUE);
+        }
+
+        void replay(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            // replace what the security headers already set on this response
+            headers.forEach((name, values) -> {
+                response.setHeader(name, values.getFirst());
+                values.stream().skip(1).forEach(value -> response.addHeader(name, value));
+            });
+            response.setHeader(REPLAYED_HEADER, "true");
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    // ── a request whose body was already read, served again from memory ──
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body is already in memory");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.taskflow.config;
 
+import com.example.taskflow.user.entity.User;
 import com.example.taskflow.user.service.JwtService;
+import com.example.taskflow.user.service.TokenVersionService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,18 +26,36 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // ── correlation id: taken from the caller if sane, echoed back, in the MDC for every log line ──
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
     private final JwtService jwtService;
+    private final TokenVersionService tokenVersionService;
     private final UserDetailsService userDetailsService;
     private final HandlerExceptionResolver handlerExceptionResolver;
-
-    @Override
-    protected boolean shouldNotFilter(HttpServletRequest request) {
-        return request.getServletPath().startsWith("/auth");
+    private final MeterRegistry meterRegistry;
+
+    // ── taskflow.jwt.validation: time to authenticate a presented token, by outcome ──
+    private Timer validTimer;
+    private Timer expiredTimer;
+    private Timer invalidTimer;
+
+    @PostConstruct
+    void init() {
+        validTimer = meterRegistry.timer("taskflow.jwt.validation", "outcome", "valid");
+        expiredTimer = meterRegistry.timer("taskflow.jwt.validation", "outcome", "expired");
+        invalidTimer = meterRegistry.timer("taskflow.jwt.validation", "outcome", "invalid");
     }
 
     @Override
@@ -38,6 +65,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
+        String requestId = requestId(request);
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            // auth pages and static resources only need the correlation id, never the token
+            if (skipsAuthentication(request.getServletPath())) {
+                filterChain.doFilter(request, response);
+            } else {
+                authenticate(request, response, filterChain);
+            }
+        } finally {
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    private static boolean skipsAuthentication(String path) {
+        // sign-out-everywhere is the one /auth action that needs the signed-in user
+        return path.startsWith("/auth") && !path.equals("/auth/logout-all")
+                || path.startsWith("/css/")
+                || path.startsWith("/js/")
+                || path.startsWith("/images/");
+    }
+
+    private static String requestId(HttpServletRequest request) {
+        String incoming = request.getHeader(REQUEST_ID_HEADER);
+        if (incoming != null && VALID_REQUEST_ID.matcher(incoming).matches()) {
+            return incoming;
+        }
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    private void authenticate(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
         String jwt = null;
 
         // 1. Try Authorization header first (for API / Postman calls)
@@ -65,23 +129,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // 4. Token found — validate and set authentication
+        // 4. Token found — verify once (cached per token) and set authentication
+        Timer.Sample validation = Timer.start(meterRegistry);
+        Timer outcome = invalidTimer;
         try {
-            String userEmail = jwtService.extractUsername(jwt);
+            Claims claims = jwtService.extractAllClaims(jwt);
+            String userEmail = claims.getSubject();
 
             if (userEmail != null &&
                     SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                UserDetails userDetails =
-                        userDetailsService.loadUserByUsername(userEmail);
+                // Rebuild the principal from the token itself; only tokens without
+                // embedded claims hit the DB. A stale version was revoked: no login.
+                Optional<User> embedded = jwtService.extractPrincipal(claims);
+                UserDetails userDetails;
+                Collection<? extends GrantedAuthority> authorities;
+                if (embedded.isPresent()) {
+                    User principal = embedded.get();
+                    userDetails = tokenVersionService.isCurrent(principal.getId(), principal.getTokenVersion())
+                            ? principal
+                            : null;
+                    authorities = jwtService.extractAuthorities(claims);
+                } else {
+                    userDetails = userDetailsService.loadUserByUsername(userEmail);
+                    authorities = userDetails.getAuthorities();
+                }
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
+                    outcome = validTimer;
 
                     UsernamePasswordAuthenticationToken authToken =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
                                     null,
-                                    userDetails.getAuthorities()
+                                    authorities
                             );
 
                     authToken.setDetails(
@@ -93,11 +174,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                             .setAuthentication(authToken);
                 }
             }
+        } catch (ExpiredJwtException ex) {
+            validation.stop(expiredTimer);
+            handlerExceptionResolver
+                    .resolveException(request, response, null, ex);
+            return;
         } catch (Exception ex) {
+            validation.stop(invalidTimer);
             handlerExceptionResolver
                     .resolveException(request, response, null, ex);
             return;
         }
+        validation.stop(outcome);
 
         filterChain.doFilter(request, response);
     }
@@ -0,0 +1,61 @@
+package com.example.taskflow.config;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks work factors that make one hash take about {@code target} on the
+ * current machine. Runs once at startup, off any request path.
+ */
+final class PasswordHashCalibration {
+
+    // never weaker than the fixed strength the application used to ship with
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MIN_ARGON2_ITERATIONS = 2;
+
+    static final int ARGON2_SALT_LENGTH = 16;
+    static final int ARGON2_HASH_LENGTH = 32;
+
+    private static final int BCRYPT_PROBE_STRENGTH = 8;
+    private static final int SAMPLES = 5;
+
+    private PasswordHashCalibration() {
+    }
+
+    /**
+     * Highest BCrypt strength whose hash stays within {@code target}; every
+     * step doubles the work, so one probe at a cheap strength is enough.
+     */
+    static int bcryptStrength(Duration target) {
+        long probeNanos = medianNanos(new BCryptPasswordEncoder(BCRYPT_PROBE_STRENGTH));
+        double doublings = Math.log((double) target.toNanos() / probeNanos) / Math.log(2);
+        int strength = BCRYPT_PROBE_STRENGTH + (int) Math.floor(doublings);
+        return Math.clamp(strength, MIN_BCRYPT_STRENGTH, 31);
+    }
+
+    /**
+     * Argon2 iterations for a fixed memory cost; time grows linearly with them.
+     */
+    static int argon2Iterations(Duration target, int memoryKib, int parallelism) {
+        long oneIterationNanos = medianNanos(new Argon2PasswordEncoder(
+                ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH, parallelism, memoryKib, 1));
+        long iterations = target.toNanos() / oneIterationNanos;
+        return Math.clamp(iterations, MIN_ARGON2_ITERATIONS, 100);
+    }
+
+    private static long medianNanos(PasswordEncoder encoder) {
+        encoder.encode("calibration-warm-up");
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-password");
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return Math.max(1, samples[SAMPLES / 2]);
+    }
+}
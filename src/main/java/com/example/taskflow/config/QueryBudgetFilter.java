@@ -0,0 +1,89 @@
+package com.example.taskflow.config;
+
+import com.example.taskflow.config.QueryCountInspector.QueryCount;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diagnostic mode: counts the SQL statements each request issues — security
+ * filters, controller and view rendering (open-in-view) included — and logs
+ * the request when it goes over its budget. Budgets are per endpoint, keyed
+ * by method and route pattern:
+ * <pre>
+ * taskflow.diagnostics.query-budget.enabled=true
+ * taskflow.diagnostics.query-budget.default=10
+ * taskflow.diagnostics.query-budget.endpoints=GET /=2,POST /update/{id}=1
+ * </pre>
+ * Off by default; meant to replace {@code spring.jpa.show-sql} when hunting N+1s.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "taskflow.diagnostics.query-budget.enabled", havingValue = "true")
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    @Value("${taskflow.diagnostics.query-budget.default:10}")
+    private int defaultBudget;
+
+    @Value("${taskflow.diagnostics.query-budget.endpoints:}")
+    private List<String> endpointBudgets;
+
+    private final Map<String, Integer> budgets = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        for (String entry : endpointBudgets) {
+            int eq = entry.lastIndexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException(
+                        "Query budget must look like 'GET /path=3', got '" + entry + "'");
+            }
+            budgets.put(entry.substring(0, eq).trim(), Integer.parseInt(entry.substring(eq + 1).trim()));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        QueryCountInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCount count = QueryCountInspector.stop();
+            String endpoint = endpoint(request);
+            int budget = budgets.getOrDefault(endpoint, defaultBudget);
+            if (count.total() > budget) {
+                log.warn("{} issued {} (budget {}):\n  {}",
+                        endpoint, count, budget, String.join("\n  ", count.statements()));
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} issued {}", endpoint, count);
+            }
+        }
+    }
+
+    // ── "GET /update/{id}" rather than "GET /update/42", so budgets are per route ──
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.taskflow.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a
+ * {@link QueryCount} is open. Registered through
+ * {@code hibernate.session_factory.statement_inspector}, so Hibernate creates
+ * it by class name and all state lives in a thread-local; with nothing open,
+ * {@link #inspect} is a single thread-local read.
+ * <p>
+ * A JDBC batch is prepared once, so N batched inserts count as one statement —
+ * the count approximates database round trips, not rows.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        QueryCount count = CURRENT.get();
+        if (count != null) {
+            count.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on this thread, replacing any count already open.
+     */
+    public static QueryCount start() {
+        QueryCount count = new QueryCount();
+        CURRENT.set(count);
+        return count;
+    }
+
+    /**
+     * Stops counting on this thread and returns what was counted, or an empty
+     * count if nothing was open.
+     */
+    public static QueryCount stop() {
+        QueryCount count = CURRENT.get();
+        CURRENT.remove();
+        return count != null ? count : new QueryCount();
+    }
+
+    // ── statements seen on one thread between start() and stop() ──
+    public static final class QueryCount {
+
+        // enough to spot a repeated statement without holding a whole page of SQL
+        private static final int MAX_STATEMENTS = 50;
+
+        private int selects;
+        private int inserts;
+        private int updates;
+        private int deletes;
+        private int other;
+        private final List<String> statements = new ArrayList<>();
+
+        private void record(String sql) {
+            String verb = firstWord(sql);
+            switch (verb) {
+                case "select", "with" -> selects++;
+                case "insert" -> inserts++;
+                case "update" -> updates++;
+                case "delete" -> deletes++;
+                default -> other++;
+            }
+            if (statements.size() < MAX_STATEMENTS) {
+                statements.add(sql);
+            }
+        }
+
+        public int total() {
+            return selects + inserts + updates + deletes + other;
+        }
+
+        public int selects() {
+            return selects;
+        }
+
+        public int inserts() {
+            return inserts;
+        }
+
+        public int updates() {
+            return updates;
+        }
+
+        public int deletes() {
+            return deletes;
+        }
+
+        /**
+         * The first statements counted, in order (capped, see {@link #total()} for the real number).
+         */
+        public List<String> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        @Override
+        public String toString() {
+            return total() + " statements (select=" + selects + ", insert=" + inserts
+                    + ", update=" + updates + ", delete=" + deletes + ", other=" + other + ")";
+        }
+
+        private static String firstWord(String sql) {
+            String trimmed = sql.stripLeading();
+            int end = 0;
+            while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+                end++;
+            }
+            return trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        }
+    }
+}
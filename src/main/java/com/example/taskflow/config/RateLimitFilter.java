@@ -0,0 +1,169 @@
+package com.example.taskflow.config;
+
+import com.example.taskflow.exception.TooManyRequestsException;
+import com.example.taskflow.user.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Token-bucket rate limits per route group, checked right after
+ * {@link JwtAuthenticationFilter} so a rejected request costs no controller,
+ * no database connection and no mail. The first matching group applies:
+ * <ul>
+ *   <li>{@code auth} — POST login / signup / verify, per client IP</li>
+ *   <li>{@code mail} — POST {@code /auth/resend} (sends an email), per client IP</li>
+ *   <li>{@code writes} — any other POST / PUT / PATCH / DELETE, per user (IP when anonymous)</li>
+ *   <li>{@code reads} — everything else, per user (IP when anonymous)</li>
+ * </ul>
+ * Static resources and the actuator are not limited. A rejected request gets
+ * 429 with {@code Retry-After} ({@link TooManyRequestsException}). Buckets
+ * idle for a whole period are full again and are evicted.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final List<String> UNLIMITED_PREFIXES = List.of("/css/", "/js/", "/images/", "/actuator/");
+
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${taskflow.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${taskflow.rate-limit.auth.capacity:20}")
+    private int authCapacity;
+
+    @Value("${taskflow.rate-limit.auth.period:1m}")
+    private Duration authPeriod;
+
+    @Value("${taskflow.rate-limit.mail.capacity:5}")
+    private int mailCapacity;
+
+    @Value("${taskflow.rate-limit.mail.period:15m}")
+    private Duration mailPeriod;
+
+    @Value("${taskflow.rate-limit.writes.capacity:120}")
+    private int writesCapacity;
+
+    @Value("${taskflow.rate-limit.writes.period:1m}")
+    private Duration writesPeriod;
+
+    @Value("${taskflow.rate-limit.reads.capacity:600}")
+    private int readsCapacity;
+
+    @Value("${taskflow.rate-limit.reads.period:1m}")
+    private Duration readsPeriod;
+
+    @Value("${taskflow.rate-limit.maximum-size:100000}")
+    private long maximumSize;
+
+    private List<Policy> policies;
+
+    @PostConstruct
+    void init() {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        policies = List.of(
+                policy("auth", false, authCapacity, authPeriod, new OrRequestMatcher(
+                        paths.matcher(HttpMethod.POST, "/auth/login"),
+                        paths.matcher(HttpMethod.POST, "/auth/signup"),
+                        paths.matcher(HttpMethod.POST, "/auth/verify"))),
+                policy("mail", false, mailCapacity, mailPeriod,
+                        paths.matcher(HttpMethod.POST, "/auth/resend")),
+                policy("writes", true, writesCapacity, writesPeriod,
+                        request -> WRITE_METHODS.contains(request.getMethod())),
+                policy("reads", true, readsCapacity, readsPeriod,
+                        request -> true));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getServletPath();
+        return UNLIMITED_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        for (Policy policy : policies) {
+            if (policy.matcher().matches(request)) {
+                long waitNanos = policy.bucketFor(clientKey(request, policy.perUser()))
+                        .tryConsume(System.nanoTime());
+                if (waitNanos > 0) {
+                    policy.rejected().increment();
+                    handlerExceptionResolver.resolveException(request, response, null,
+                            new TooManyRequestsException(
+                                    "Too many requests, please slow down", Duration.ofNanos(waitNanos)));
+                    return;
+                }
+                break;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // ── helpers ──
+
+    private Policy policy(String name, boolean perUser, int capacity, Duration period, RequestMatcher matcher) {
+        if (capacity < 1 || !period.isPositive()) {
+            throw new IllegalArgumentException(
+                    "taskflow.rate-limit." + name + " needs a positive capacity and period");
+        }
+        // an idle bucket is full again after one period, so evicting it then loses nothing
+        Cache<String, TokenBucket> buckets = Caffeine.newBuilder()
+                .expireAfterAccess(period)
+                .maximumSize(maximumSize)
+                .build();
+        return new Policy(matcher, perUser, capacity, period, buckets,
+                meterRegistry.counter("taskflow.ratelimit.rejected", "policy", name));
+    }
+
+    private static String clientKey(HttpServletRequest request, boolean perUser) {
+        if (perUser) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User user) {
+                return "user:" + user.getId();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record Policy(RequestMatcher matcher, boolean perUser, int capacity, Duration period,
+                          Cache<String, TokenBucket> buckets, Counter rejected) {
+
+        TokenBucket bucketFor(String key) {
+            return buckets.get(key, k -> new TokenBucket(capacity, period));
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.taskflow.config;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +14,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -25,27 +31,44 @@ public class SecurityConfiguration {
 
     private final AuthenticationProvider authenticationProvider;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http)
             throws Exception {
 
+        RequestMatcher apiRequests = PathPatternRequestMatcher.withDefaults().matcher("/api/**");
+
         return http
-                // CSRF must be ENABLED — Thymeleaf th:action auto-adds CSRF tokens
-                .csrf(Customizer.withDefaults())
+                // CSRF must be ENABLED — Thymeleaf th:action auto-adds CSRF tokens.
+                // Bearer requests are exempt: the filter then ignores the cookie, so a
+                // forged request without the token authenticates as nobody.
+                .csrf(csrf -> csrf.ignoringRequestMatchers(SecurityConfiguration::hasBearerToken))
                 .cors(Customizer.withDefaults())
-                // Sessions must be allowed — RedirectAttributes (flash messages) need them
-                .sessionManagement(session ->
-                        session.sessionCreationPolicy(
-                                SessionCreationPolicy.IF_REQUIRED
-                        )
+                // The JWT is checked on every request, so the authentication lives in the
+                // request only; keeping it in the session would open one per request
+                .securityContext(context ->
+                        context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+                // Sessions must be allowed — RedirectAttributes (flash messages) need them.
+                // No fixation protection: nothing in the session authenticates, and a new
+                // session id on every JWT request would change the home-page ETag each time
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+                        .sessionFixation(fixation -> fixation.none())
                 )
                 .authenticationProvider(authenticationProvider)
                 .addFilterBefore(
                         jwtAuthenticationFilter,
                         UsernamePasswordAuthenticationFilter.class
                 )
+                // after the JWT filter, so writes and reads are limited per user, not per IP
+                .addFilterAfter(
+                        rateLimitFilter,
+                        JwtAuthenticationFilter.class
+                )
                 .authorizeHttpRequests(auth -> auth
+                        // the async dispatch that completes a task stream was authorized when it opened
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Static resources (CSS, images, etc.) — always public
                         .requestMatchers("/css/**", "/images/**", "/js/**").permitAll()
                         // Auth pages — always public
@@ -55,24 +78,39 @@ public class SecurityConfiguration {
                                 "/auth/verify",
                                 "/auth/resend"
                         ).permitAll()
+                        // Actuator — served on management.server.port only, never the app port;
+                        // health and the Prometheus scrape are open there, everything else is admin only
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // Everything else requires authentication
                         .anyRequest().authenticated()
                 )
-                // If user hits a protected page while not authenticated, redirect to login
+                // If user hits a protected page while not authenticated, redirect to login;
+                // API clients get a plain 401 instead
                 .exceptionHandling(ex ->
                         ex.authenticationEntryPoint((request, response, authException) -> {
-                            response.sendRedirect("/auth/login");
+                            if (apiRequests.matches(request)) {
+                                response.setHeader("WWW-Authenticate", "Bearer");
+                                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                            } else {
+                                response.sendRedirect("/auth/login");
+                            }
                         })
                 )
                 .build();
     }
 
+    private static boolean hasBearerToken(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        return authorization != null && authorization.startsWith("Bearer ");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
         config.setAllowedOriginPatterns(List.of("*"));
         config.setAllowedMethods(
-                List.of("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
         );
         config.setAllowedHeaders(
                 List.of("Authorization", "Content-Type")
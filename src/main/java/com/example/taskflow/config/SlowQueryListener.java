@@ -0,0 +1,122 @@
+package com.example.taskflow.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs statements that run longer than {@code taskflow.slow-query.threshold}
+ * as one key=value line on the {@code taskflow.sql.slow} logger. Every slow
+ * statement is counted ({@code taskflow.sql.slow}), but only a
+ * {@code sample-rate} fraction of them is logged, so a database stall cannot
+ * turn into a log flood. Bind parameters are left out, redacted (strings,
+ * dates, binary — anything but numbers and booleans) or logged in full.
+ * The request id from {@link JwtAuthenticationFilter} is in the MDC.
+ */
+@Slf4j(topic = "taskflow.sql.slow")
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "taskflow.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryListener implements QueryExecutionListener {
+
+    enum ParameterMode { NONE, REDACTED, FULL }
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${taskflow.slow-query.threshold:200ms}")
+    private Duration threshold;
+
+    @Value("${taskflow.slow-query.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${taskflow.slow-query.parameters:redacted}")
+    private String parameters;
+
+    @Value("${taskflow.slow-query.max-sql-length:2000}")
+    private int maxSqlLength;
+
+    private long thresholdMillis;
+    private ParameterMode parameterMode;
+    private Counter slowQueries;
+
+    @PostConstruct
+    void init() {
+        thresholdMillis = threshold.toMillis();
+        parameterMode = ParameterMode.valueOf(parameters.trim().toUpperCase(Locale.ROOT));
+        slowQueries = meterRegistry.counter("taskflow.sql.slow");
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsed = execInfo.getElapsedTime();
+        if (elapsed < thresholdMillis) {
+            return;
+        }
+        slowQueries.increment();
+        if (!log.isWarnEnabled() || !sampled()) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+            log.warn("slow_query duration_ms={} success={} batch={} batch_size={} sql=\"{}\" params={}",
+                    elapsed,
+                    execInfo.isSuccess(),
+                    execInfo.isBatch(),
+                    Math.max(1, parameterSets.size()),
+                    truncate(query.getQuery()),
+                    parameterSets.isEmpty() ? "[]" : describe(parameterSets.get(0)));
+        }
+    }
+
+    // ── helpers ──
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private String truncate(String sql) {
+        String oneLine = sql.replace('\n', ' ').replace('"', '\'');
+        return oneLine.length() <= maxSqlLength ? oneLine : oneLine.substring(0, maxSqlLength) + "…";
+    }
+
+    // only the first parameter set of a batch; the others differ in values, not in shape
+    private String describe(List<ParameterSetOperation> operations) {
+        if (parameterMode == ParameterMode.NONE) {
+            return "[" + operations.size() + " omitted]";
+        }
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : operations) {
+            Object[] args = operation.getArgs();
+            boolean setNull = "setNull".equals(operation.getMethod().getName());
+            Object value = setNull || args.length < 2 ? null : args[1];
+            joiner.add(render(value));
+        }
+        return joiner.toString();
+    }
+
+    private String render(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        return parameterMode == ParameterMode.FULL ? "'" + value + "'" : "?";
+    }
+}
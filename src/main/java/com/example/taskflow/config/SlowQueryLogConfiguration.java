@@ -0,0 +1,38 @@
+package com.example.taskflow.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the connection pool in a datasource-proxy that times every statement
+ * and hands it to {@link SlowQueryListener}. The proxy unwraps to the Hikari
+ * pool, so pool metrics and health checks still see it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "taskflow.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLogConfiguration {
+
+    // static: post-processors are created before the rest of the configuration
+    @Bean
+    static BeanPostProcessor slowQueryDataSourcePostProcessor(ObjectProvider<SlowQueryListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.taskflow.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+/**
+ * Serves {@code /css}, {@code /js} and {@code /images} under content-hashed
+ * URLs ({@code /css/style-<md5>.css}) with a long, immutable cache lifetime.
+ * Templates must link them with {@code th:href} / {@code th:src} so the
+ * resource URL encoding filter ({@code spring.web.resources.chain.enabled})
+ * rewrites them; a changed file gets a new URL, so nothing stale is served.
+ */
+@Configuration
+public class StaticResourceConfiguration implements WebMvcConfigurer {
+
+    @Value("${taskflow.static.max-age:365d}")
+    private Duration maxAge;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String directory : new String[] {"css", "js", "images"}) {
+            registry.addResourceHandler("/" + directory + "/**")
+                    .addResourceLocations("classpath:/static/" + directory + "/")
+                    .setCacheControl(CacheControl.maxAge(maxAge).cachePublic().immutable())
+                    .resourceChain(true)
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskflow.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket: {@code capacity} requests at once, refilled at
+ * {@code capacity} per {@code period}. The whole state is one {@code long},
+ * the time at which the bucket is full again (GCRA's "theoretical arrival
+ * time"), updated with compare-and-set, so a bucket costs a few dozen bytes
+ * and contended takes never block.
+ */
+final class TokenBucket {
+
+    private final long interval;   // nanos to refill one token
+    private final long burst;      // nanos to refill the whole bucket
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(int capacity, Duration period) {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException(
+                    "Rate limit needs a positive capacity and period, got " + capacity + "/" + period);
+        }
+        this.interval = Math.max(1, period.toNanos() / capacity);
+        this.burst = interval * capacity;
+    }
+
+    /**
+     * Takes one token at {@code now} ({@link System#nanoTime()}).
+     *
+     * @return 0 if a token was taken, otherwise the nanos until one is available
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
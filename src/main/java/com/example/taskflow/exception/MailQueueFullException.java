@@ -0,0 +1,7 @@
+package com.example.taskflow.exception;
+
+public class MailQueueFullException extends RuntimeException {
+    public MailQueueFullException(String message) {
+        super(message);
+    }
+}
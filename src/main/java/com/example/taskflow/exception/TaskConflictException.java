@@ -0,0 +1,15 @@
+package com.example.taskflow.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The task changed since the client read it (its version no longer matches);
+ * reload and apply the change again.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class TaskConflictException extends RuntimeException {
+    public TaskConflictException(String message) {
+        super(message);
+    }
+}
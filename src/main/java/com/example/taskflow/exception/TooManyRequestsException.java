@@ -0,0 +1,19 @@
+package com.example.taskflow.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Rendered as 429 with a {@code Retry-After} header by {@link GlobalExceptionHandler}.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.taskflow.task.controller;
+
+import com.example.taskflow.exception.InvalidFieldException;
+import com.example.taskflow.task.dto.TaskChangesResponse;
+import com.example.taskflow.task.dto.TaskCreateRequest;
+import com.example.taskflow.task.dto.TaskFilter;
+import com.example.taskflow.task.dto.TaskListResponse;
+import com.example.taskflow.task.dto.TaskPage;
+import com.example.taskflow.task.dto.TaskPatchRequest;
+import com.example.taskflow.task.dto.TaskView;
+import com.example.taskflow.task.entity.Task;
+import com.example.taskflow.task.service.TaskService;
+import com.example.taskflow.task.service.TaskSyncService;
+import com.example.taskflow.user.entity.User;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON API over the same {@link TaskService} as the HTML pages, for clients
+ * that should not scrape pages or follow redirects. Every lookup and change
+ * is scoped to the caller's own tasks; someone else's task is a 404.
+ * Authenticate with {@code Authorization: Bearer <jwt>} (no CSRF token needed)
+ * or with the browser's cookie.
+ * <p>
+ * A single task's {@code ETag} is its version; send it back as {@code If-Match}
+ * on PATCH / DELETE to get 409 instead of overwriting someone else's change.
+ */
+@RestController
+@RequestMapping("/api/v1/tasks")
+@RequiredArgsConstructor
+public class TaskApiController {
+
+    private static final List<String> ALL_FIELDS = List.of("id", "title", "status", "version");
+
+    private final TaskService taskService;
+    private final TaskSyncService taskSyncService;
+
+    // ── helper: pull the logged-in User out of the SecurityContext ──
+    private User currentUser() {
+        return (User) SecurityContextHolder
+                .getContext()
+                .getAuthentication()
+                .getPrincipal();
+    }
+
+    // ─── LIST ──────────────────────────────────────────────────────
+    // Keyset-paginated like the home page: ?filter=&after=&size=
+    // Sparse: ?fields=id,title returns only those fields of each task
+    @GetMapping
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "api-list"})
+    public TaskListResponse list(@RequestParam(required = false) String filter,
+                                 @RequestParam(required = false) Long after,
+                                 @RequestParam(required = false) Integer size,
+                                 @RequestParam(required = false) List<String> fields) {
+        List<String> selected = selectFields(fields);
+        TaskPage page = taskService.listPage(currentUser(), TaskFilter.fromParam(filter), after, size);
+        return new TaskListResponse(
+                page.getTasks().stream().map(task -> project(task, selected)).toList(),
+                page.getNextCursor());
+    }
+
+    // ─── DELTA SYNC ────────────────────────────────────────────────
+    // ?since=<token from the last call> — omit on the first sync; 410 once the
+    // token is older than the tombstone retention
+    @GetMapping("/changes")
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "api-changes"})
+    public TaskChangesResponse changes(@RequestParam(required = false) String since,
+                                       @RequestParam(required = false) Integer limit) {
+        return taskSyncService.changes(currentUser(), since, limit);
+    }
+
+    // ─── GET ONE ───────────────────────────────────────────────────
+    @GetMapping("/{id}")
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "api-get"})
+    public ResponseEntity<Map<String, Object>> get(@PathVariable Long id,
+                                                   @RequestParam(required = false) List<String> fields) {
+        List<String> selected = selectFields(fields);
+        TaskView task = taskService.find(currentUser(), id);
+        return ResponseEntity.ok().eTag(etag(task)).body(project(task, selected));
+    }
+
+    // ─── ADD ───────────────────────────────────────────────────────
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "api-add"})
+    public ResponseEntity<Map<String, Object>> add(@Valid @RequestBody TaskCreateRequest request) {
+        Task task = taskService.add(currentUser(), request.getTitle().trim());
+        TaskView created = new TaskView(task.getId(), task.getTitle(), task.isStatus(), task.getVersion());
+        return ResponseEntity.created(URI.create("/api/v1/tasks/" + task.getId()))
+                .eTag(etag(created))
+                .body(project(created, ALL_FIELDS));
+    }
+
+    // ─── PARTIAL UPDATE ────────────────────────────────────────────
+    // Only the fields present in the body change; returns the task as it is now
+    @PatchMapping(value = "/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/merge-patch+json"})
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "api-update"})
+    public ResponseEntity<Map<String, Object>> update(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                      String ifMatch,
+                                                      @Valid @RequestBody TaskPatchRequest patch) {
+        TaskView task = taskService.update(
+                currentUser(), id, patch.getTitle(), patch.getStatus(), expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(etag(task)).body(project(task, ALL_FIELDS));
+    }
+
+    // ─── DELETE ────────────────────────────────────────────────────
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "api-delete"})
+    public void delete(@PathVariable Long id,
+                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        taskService.delete(currentUser(), id, expectedVersion(ifMatch));
+    }
+
+    // ── helpers ──
+
+    private static List<String> selectFields(List<String> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return ALL_FIELDS;
+        }
+        for (String field : requested) {
+            if (!ALL_FIELDS.contains(field)) {
+                throw new InvalidFieldException(
+                        "Unknown field '" + field + "', expected any of " + ALL_FIELDS);
+            }
+        }
+        // canonical order, duplicates dropped
+        return ALL_FIELDS.stream().filter(requested::contains).toList();
+    }
+
+    private static String etag(TaskView task) {
+        return "\"" + task.getVersion() + "\"";
+    }
+
+    // If-Match: "<version>" — absent or * means unconditional
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            try {
+                return Long.parseLong(value, 1, value.length() - 1, 10);
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+        }
+        throw new InvalidFieldException("If-Match must be a task ETag such as \"3\", got " + value);
+    }
+
+    private static Map<String, Object> project(TaskView task, List<String> fields) {
+        Map<String, Object> json = new LinkedHashMap<>(4);
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> json.put("id", task.getId());
+                case "title" -> json.put("title", task.getTitle());
+                case "status" -> json.put("status", task.isStatus());
+                case "version" -> json.put("version", task.getVersion());
+                default -> throw new IllegalStateException(field);
+            }
+        }
+        return json;
+    }
+}
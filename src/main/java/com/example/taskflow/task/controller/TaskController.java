@@ -1,20 +1,38 @@
 package com.example.taskflow.task.controller;
 
-import com.example.taskflow.exception.TaskNotFoundException;
-import com.example.taskflow.task.entity.Task;
-import com.example.taskflow.task.repository.ITaskRepository;
+import com.example.taskflow.exception.InvalidFieldException;
+import com.example.taskflow.task.dto.TaskFilter;
+import com.example.taskflow.task.dto.TaskPage;
+import com.example.taskflow.task.event.TaskEventBus;
+import com.example.taskflow.task.service.TaskListVersions;
+import com.example.taskflow.task.service.TaskService;
 import com.example.taskflow.user.entity.User;
+import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @Controller
 @RequiredArgsConstructor
 public class TaskController {
 
-    private final ITaskRepository taskRepository;
+    private final TaskService taskService;
+    private final TaskEventBus taskEventBus;
+    private final TaskListVersions taskListVersions;
+
+    // the browser keeps the page but must revalidate it (If-None-Match) on every load
+    private static final String HOME_CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
 
     // ── helper: pull the logged-in User out of the SecurityContext ──
     private User currentUser() {
@@ -24,53 +42,105 @@ public class TaskController {
                 .getPrincipal();
     }
 
-    // ── helper: load a task that belongs to the current user, or 404 ──
-    private Task ownedTaskOrThrow(Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() ->
-                        new TaskNotFoundException("Task not found with id [" + id + "]"));
-
-        if (!task.getUser().getId().equals(currentUser().getId())) {
-            throw new TaskNotFoundException("Task not found with id [" + id + "]");
-        }
-        return task;
-    }
-
     // ─── LIST ──────────────────────────────────────────────────────
+    // Keyset-paginated: ?filter=all|open|done&after=<last id>&size=<n>
+    // Conditional: an unchanged list is answered with 304 before any query runs
     @GetMapping({"/", "/home"})
-    public String showHomePage(Model model) {
-        model.addAttribute("tasks", taskRepository.findByUser(currentUser()));
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "list"})
+    public String showHomePage(@RequestParam(required = false) String filter,
+                               @RequestParam(required = false) Long after,
+                               @RequestParam(required = false) Integer size,
+                               ServletWebRequest request,
+                               Model model) {
+        User user = currentUser();
+        TaskFilter taskFilter = TaskFilter.fromParam(filter);
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, HOME_CACHE_CONTROL);
+        // getSession(false): a conditional GET must not create the session it is keyed on
+        HttpSession session = request.getRequest().getSession(false);
+        String etag = taskListVersions.homePageEtag(
+                user.getId(), taskFilter, after, size, session != null ? session.getId() : null);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        TaskPage page = taskService.listPage(user, taskFilter, after, size);
+        model.addAttribute("page", page);
+        model.addAttribute("filters", TaskFilter.values());
+        model.addAttribute("tasks", page.getTasks());
         return "index";
     }
 
+    // ─── STREAM ────────────────────────────────────────────────────
+    // Server-Sent Events: created / toggled / deleted / cleared, after commit.
+    // The page applies them in place, so its own posts need not reload it.
+    @GetMapping(value = "/tasks/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter stream() {
+        return taskEventBus.subscribe(currentUser().getId());
+    }
+
     // ─── ADD ───────────────────────────────────────────────────────
     @PostMapping("/add")
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "add"})
     public String add(@RequestParam String title) {
-        Task task = Task.builder()
-                .title(title)
-                .status(false)
-                .user(currentUser())   // ← stamp the owner
-                .build();
-        taskRepository.save(task);
+        taskService.add(currentUser(), title);
         return "redirect:/";
     }
 
     // ─── TOGGLE STATUS ─────────────────────────────────────────────
-    // POST so the browser sends a CSRF token automatically via th:action
+    // POST so the browser sends a CSRF token automatically via th:action;
+    // the form's hidden "version" is the version the page was rendered with
     @PostMapping("/update/{id}")
-    public String update(@PathVariable Long id) {
-        Task task = ownedTaskOrThrow(id);
-        task.setStatus(!task.isStatus());
-        taskRepository.save(task);
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "toggle"})
+    public String update(@PathVariable Long id, @RequestParam(required = false) Long version) {
+        // ownership-scoped UPDATE; 0 rows → TaskNotFoundException → 404,
+        // or TaskConflictException → 409 when the task moved past that version
+        taskService.toggle(currentUser(), id, version);
         return "redirect:/";
     }
 
     // ─── DELETE ────────────────────────────────────────────────────
     // POST so the browser sends a CSRF token automatically via th:action
     @PostMapping("/delete/{id}")
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "delete"})
     public String delete(@PathVariable Long id) {
-        Task task = ownedTaskOrThrow(id);
-        taskRepository.delete(task);
+        taskService.delete(currentUser(), id, null);
+        return "redirect:/";
+    }
+
+    // ─── BATCH ─────────────────────────────────────────────────────
+    // Repeated params, e.g. titles=a&titles=b or ids=1&ids=2 — one request,
+    // one transaction instead of N round trips; the raw values, because binding a
+    // List<String> splits a single "titles" value on its commas
+    @PostMapping("/batch/add")
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "batch-add"})
+    public String addAll(HttpServletRequest request) {
+        String[] titles = request.getParameterValues("titles");
+        if (titles == null) {
+            throw new InvalidFieldException("Required parameter 'titles' is missing");
+        }
+        taskService.addAll(currentUser(), List.of(titles));
+        return "redirect:/";
+    }
+
+    @PostMapping("/batch/update")
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "batch-toggle"})
+    public String updateAll(@RequestParam List<Long> ids) {
+        taskService.toggleAll(currentUser(), ids);
+        return "redirect:/";
+    }
+
+    @PostMapping("/batch/delete")
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "batch-delete"})
+    public String deleteAll(@RequestParam List<Long> ids) {
+        taskService.deleteAll(currentUser(), ids);
+        return "redirect:/";
+    }
+
+    @PostMapping("/clear-completed")
+    @Timed(value = "taskflow.tasks", extraTags = {"operation", "clear-completed"})
+    public String clearCompleted() {
+        taskService.clearCompleted(currentUser());
         return "redirect:/";
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.taskflow.task.dto;
+
+/**
+ * One row of the change log read by
+ * {@link com.example.taskflow.task.repository.ITaskRepository#findChanges}:
+ * a live task or the tombstone of a deleted one.
+ */
+public interface TaskChange {
+    Long getId();
+
+    String getTitle();
+
+    Boolean getStatus();
+
+    Long getVersion();
+
+    Long getChangeSeq();
+
+    Boolean getDeleted();
+
+    /** Epoch millis of the change, by the database clock. */
+    Long getChangedAt();
+
+    Boolean getSettled();
+}
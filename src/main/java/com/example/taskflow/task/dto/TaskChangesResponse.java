@@ -0,0 +1,20 @@
+package com.example.taskflow.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One batch from {@code GET /api/v1/tasks/changes}: tasks added or changed and
+ * ids deleted since the given token. Pass {@code token} as {@code ?since=} on
+ * the next call; {@code more} means another batch is already waiting.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskView> upserted;
+    private List<Long> deleted;
+    private String token;
+    private boolean more;
+}
@@ -0,0 +1,18 @@
+package com.example.taskflow.task.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Body of {@code POST /api/v1/tasks}.
+ */
+@Getter
+@Setter
+public class TaskCreateRequest {
+
+    @NotBlank
+    @Size(max = 255)
+    private String title;
+}
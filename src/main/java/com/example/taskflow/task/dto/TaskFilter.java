@@ -0,0 +1,25 @@
+package com.example.taskflow.task.dto;
+
+/**
+ * Status filter for the task list, bound from the {@code ?filter=} query parameter.
+ */
+public enum TaskFilter {
+    ALL,
+    OPEN,
+    DONE;
+
+    public static TaskFilter fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ALL;
+        }
+    }
+
+    public String getParam() {
+        return name().toLowerCase();
+    }
+}
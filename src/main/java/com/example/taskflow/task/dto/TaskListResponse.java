@@ -0,0 +1,19 @@
+package com.example.taskflow.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One keyset page from {@code GET /api/v1/tasks}. Each task holds only the
+ * requested fields; {@code next} is the {@code ?after=} cursor of the
+ * following page, or {@code null} on the last one.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskListResponse {
+    private List<Map<String, Object>> tasks;
+    private Long next;
+}
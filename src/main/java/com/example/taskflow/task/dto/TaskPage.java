@@ -0,0 +1,28 @@
+package com.example.taskflow.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One keyset page of a user's tasks. {@code nextCursor} is the id to pass as
+ * {@code ?after=} for the following page, or {@code null} on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskPage {
+    private List<TaskView> tasks;
+    private TaskFilter filter;
+    private Long cursor;
+    private Long nextCursor;
+    private int size;
+
+    public boolean isFirstPage() {
+        return cursor == null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
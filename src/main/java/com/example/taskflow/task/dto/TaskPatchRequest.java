@@ -0,0 +1,21 @@
+package com.example.taskflow.task.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Body of {@code PATCH /api/v1/tasks/{id}} (JSON merge patch): absent or
+ * {@code null} fields are left as they are.
+ */
+@Getter
+@Setter
+public class TaskPatchRequest {
+
+    @Size(max = 255)
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    private String title;
+
+    private Boolean status;
+}
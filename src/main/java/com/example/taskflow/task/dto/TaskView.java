@@ -0,0 +1,18 @@
+package com.example.taskflow.task.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only projection used to render task lists. Selected through a JPQL
+ * constructor expression, so no managed {@code Task} or {@code User} proxy is
+ * created and nothing is registered for dirty checking.
+ */
+@Getter
+@AllArgsConstructor
+public class TaskView {
+    private Long id;
+    private String title;
+    private boolean status;
+    private long version;
+}
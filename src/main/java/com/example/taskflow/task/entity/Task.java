@@ -3,9 +3,13 @@ package com.example.taskflow.task.entity;
 import com.example.taskflow.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.SQLRestriction;
+
+import java.time.Instant;
 
 @Entity
 @Table(name = "task")
+@SQLRestriction("deleted_at is null")   // tombstones are only read by the delta sync
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
@@ -13,7 +17,8 @@ import lombok.*;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -21,8 +26,23 @@ public class Task {
 
     private boolean status;
 
+    // optimistic lock: sent back by clients as If-Match / the form's "version" field
+    @Version
+    private long version;
+
     // ── owner ──────────────────────────────────────────────────
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
-}
\ No newline at end of file
+
+    // ── change log (V4): stamped by the task_stamp_change trigger ──
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    private Long changeSeq;
+
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private Instant updatedAt;
+
+    // set by the soft deletes in ITaskRepository, never by the entity itself
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private Instant deletedAt;
+}
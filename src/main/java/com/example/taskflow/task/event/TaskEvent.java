@@ -0,0 +1,51 @@
+package com.example.taskflow.task.event;
+
+import com.example.taskflow.task.dto.TaskView;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A committed change to one user's tasks, pushed to that user's open pages.
+ * {@code CREATED} and {@code UPDATED} carry the rows as they are now;
+ * {@code TOGGLED} and {@code DELETED} carry ids only (a toggle flips the status
+ * the page already shows); {@code CLEARED} means every completed task is gone.
+ */
+@Value
+public class TaskEvent {
+
+    public enum Type { CREATED, UPDATED, TOGGLED, DELETED, CLEARED }
+
+    Long userId;
+    Type type;
+    List<TaskView> tasks;
+    List<Long> ids;
+
+    public static TaskEvent created(Long userId, List<TaskView> tasks) {
+        return new TaskEvent(userId, Type.CREATED, tasks, tasks.stream().map(TaskView::getId).toList());
+    }
+
+    public static TaskEvent updated(Long userId, List<TaskView> tasks) {
+        return new TaskEvent(userId, Type.UPDATED, tasks, tasks.stream().map(TaskView::getId).toList());
+    }
+
+    public static TaskEvent toggled(Long userId, List<Long> ids) {
+        return new TaskEvent(userId, Type.TOGGLED, List.of(), ids);
+    }
+
+    public static TaskEvent deleted(Long userId, List<Long> ids) {
+        return new TaskEvent(userId, Type.DELETED, List.of(), ids);
+    }
+
+    public static TaskEvent cleared(Long userId) {
+        return new TaskEvent(userId, Type.CLEARED, List.of(), List.of());
+    }
+
+    /**
+     * SSE event name, e.g. {@code created}.
+     */
+    public String name() {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.taskflow.task.event;
+
+import com.example.taskflow.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Fans committed {@link TaskEvent}s out to the user's open SSE streams.
+ * <p>
+ * Publishing only offers the event to each subscriber's bounded queue, so the
+ * request that changed the tasks never waits on a slow client. Every
+ * subscriber has one virtual thread that drains its queue into the response.
+ * A subscriber whose queue overflows is disconnected; the page reconnects and
+ * reloads, which is cheaper than buffering without bound.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskEventBus {
+
+    // queued like an event so that only the subscriber's own thread ever writes to its response
+    private static final Object HEARTBEAT = new Object();
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${taskflow.tasks.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${taskflow.tasks.stream.max-subscribers-per-user:5}")
+    private int maxSubscribersPerUser;
+
+    @Value("${taskflow.tasks.stream.timeout:30m}")
+    private Duration timeout;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private ThreadFactory senders;
+    private Counter overflows;
+
+    @PostConstruct
+    void start() {
+        senders = Thread.ofVirtual().name("task-stream-", 0).factory();
+        overflows = meterRegistry.counter("taskflow.tasks.stream.overflow");
+        Gauge.builder("taskflow.tasks.stream.subscribers", subscribers,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            subscriber.sender.interrupt();
+            subscriber.emitter.complete();
+        }));
+    }
+
+    /**
+     * Opens a stream for the user.
+     *
+     * @throws TooManyRequestsException if the user already has the maximum number of streams open
+     */
+    public SseEmitter subscribe(Long userId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeout.toMillis()), bufferSize);
+        subscriber.sender = senders.newThread(() -> drain(subscriber));
+
+        subscribers.compute(userId, (id, set) -> {
+            Set<Subscriber> current = set != null ? set : ConcurrentHashMap.newKeySet();
+            if (current.size() >= maxSubscribersPerUser) {
+                throw new TooManyRequestsException(
+                        "Too many open task streams", Duration.ofSeconds(30));
+            }
+            current.add(subscriber);
+            return current;
+        });
+
+        SseEmitter emitter = subscriber.emitter;
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscriber));
+        subscriber.sender.start();
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void publish(TaskEvent event) {
+        Set<Subscriber> set = subscribers.get(event.getUserId());
+        if (set == null) {
+            return;
+        }
+        for (Subscriber subscriber : set) {
+            offer(subscriber, event);
+        }
+    }
+
+    // ── keeps idle connections alive through proxies and finds dead ones ──
+    @Scheduled(fixedDelayString = "${taskflow.tasks.stream.heartbeat:25s}")
+    public void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> offer(subscriber, HEARTBEAT)));
+    }
+
+    // ── helpers ──
+
+    private void offer(Subscriber subscriber, Object message) {
+        if (!subscriber.queue.offer(message)) {
+            overflows.increment();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        SseEmitter emitter = subscriber.emitter;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Object message = subscriber.queue.take();
+                if (message == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    TaskEvent event = (TaskEvent) message;
+                    emitter.send(SseEmitter.event()
+                            .name(event.name())
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // client went away, or the stream was completed (timeout, overflow, shutdown)
+            log.debug("Task stream for user {} closed: {}", subscriber.userId, e.getMessage());
+        } finally {
+            remove(subscriber);
+        }
+    }
+
+    // wakes the sender if it is parked on an empty queue; harmless when called from the sender itself
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriber.sender.interrupt();
+    }
+
+    // ── one open stream: its response, its buffer and the thread that drains one into the other ──
+    private static final class Subscriber {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue;
+        private Thread sender;
+
+        private Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
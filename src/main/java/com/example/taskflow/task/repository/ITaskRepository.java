@@ -1,15 +1,147 @@
 package com.example.taskflow.task.repository;
 
+import com.example.taskflow.task.dto.TaskChange;
 import com.example.taskflow.task.entity.Task;
-import com.example.taskflow.user.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ITaskRepository extends JpaRepository<Task, Long> {
 
     /**
-     * Returns only the tasks that belong to the given user.
+     * Keyset page of a user's tasks: ids strictly after {@code afterId}, oldest first.
+     * Pass {@link com.example.taskflow.task.dto.TaskView} as {@code type} for a
+     * read-only projection, or {@link Task} for managed entities.
      */
-    List<Task> findByUser(User user);
+    <T> List<T> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long afterId, Limit limit, Class<T> type);
+
+    /**
+     * Same as {@link #findByUserIdAndIdGreaterThanOrderByIdAsc} restricted to one status.
+     */
+    <T> List<T> findByUserIdAndStatusAndIdGreaterThanOrderByIdAsc(Long userId, boolean status, Long afterId,
+                                                                  Limit limit, Class<T> type);
+
+    /**
+     * One task, only if it belongs to the user — as a {@link com.example.taskflow.task.dto.TaskView}
+     * or as a managed {@link Task} to modify.
+     */
+    <T> Optional<T> findByIdAndUserId(Long id, Long userId, Class<T> type);
+
+    /**
+     * Flips the status of a task in one statement, only if it belongs to the user
+     * and, unless {@code version} is null, is still at that version.
+     *
+     * @return number of rows updated — 0 means no such task for this user, or a newer version
+     */
+    @Modifying
+    @Query("""
+            update Task t
+            set t.status = case when t.status = true then false else true end,
+                t.version = t.version + 1
+            where t.id = :id and t.user.id = :userId and t.deletedAt is null
+              and (:version is null or t.version = :version)
+            """)
+    int toggleStatus(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version);
+
+    /**
+     * Deletes a task in one statement, only if it belongs to the user and, unless
+     * {@code version} is null, is still at that version. The row
+     * stays behind as a tombstone for {@link #findChanges} until
+     * {@link #purgeTombstones} removes it.
+     *
+     * @return number of rows deleted — 0 means no such task for this user, or a newer version
+     */
+    @Modifying
+    @Query(value = """
+            update task set deleted_at = :now, version = version + 1
+            where id = :id and user_id = :userId and deleted_at is null
+              and (cast(:version as bigint) is null or version = :version)
+            """, nativeQuery = true)
+    int deleteOwned(@Param("id") Long id, @Param("userId") Long userId, @Param("version") Long version,
+                    @Param("now") Instant now);
+
+    /**
+     * Set-based {@link #toggleStatus}: flips every listed task the user owns,
+     * each once however often it is listed.
+     * <p>
+     * Not {@code @Modifying}: Spring Data only lets those return a row count, and
+     * the ids come from {@code returning id}. As a native query it still flushes
+     * pending changes first (AUTO flush), but it does not clear the persistence
+     * context, so a Task loaded earlier in the same transaction keeps its old
+     * status and version. Call it from a transaction that loads no tasks, as
+     * {@code TaskService.toggleAll} does.
+     *
+     * @return the ids actually flipped — never another user's
+     */
+    @Query(value = """
+            update task set status = not status, version = version + 1
+            where id in :ids and user_id = :userId and deleted_at is null
+            returning id
+            """, nativeQuery = true)
+    List<Long> toggleStatusAll(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    /**
+     * Set-based {@link #deleteOwned}: deletes every listed task the user owns.
+     * Read-style for the same reason as {@link #toggleStatusAll}, with the same
+     * rule: no Task loaded earlier in the calling transaction.
+     *
+     * @return the ids actually deleted — never another user's
+     */
+    @Query(value = """
+            update task set deleted_at = :now, version = version + 1
+            where id in :ids and user_id = :userId and deleted_at is null
+            returning id
+            """, nativeQuery = true)
+    List<Long> deleteAllOwned(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                              @Param("now") Instant now);
+
+    @Modifying
+    @Query(value = """
+            update task set deleted_at = :now, version = version + 1
+            where user_id = :userId and status = true and deleted_at is null
+            """, nativeQuery = true)
+    int deleteCompleted(@Param("userId") Long userId, @Param("now") Instant now);
+
+    /**
+     * The user's changes after {@code sinceSeq} in change order, tombstones
+     * included unless {@code includeDeleted} is false (a first sync has nothing
+     * to delete). Served by {@code idx_task_user_change_seq}.
+     * <p>
+     * {@code settled} marks rows changed at least {@code settleMillis} ago by
+     * the database clock: a sync cursor only moves past those, since a
+     * transaction still in flight may hold a lower, not yet visible sequence value.
+     */
+    @Query(value = """
+            select id, title, status, version, change_seq as changeSeq,
+                   deleted_at is not null as deleted,
+                   cast(extract(epoch from updated_at) * 1000 as bigint) as changedAt,
+                   updated_at <= clock_timestamp() - :settleMillis * interval '1 millisecond' as settled
+            from task
+            where user_id = :userId and change_seq > :sinceSeq
+              and (:includeDeleted or deleted_at is null)
+            order by change_seq
+            limit :limit
+            """, nativeQuery = true)
+    List<TaskChange> findChanges(@Param("userId") Long userId,
+                                 @Param("sinceSeq") long sinceSeq,
+                                 @Param("includeDeleted") boolean includeDeleted,
+                                 @Param("settleMillis") long settleMillis,
+                                 @Param("limit") int limit);
+
+    /**
+     * Removes tombstones deleted before {@code cutoff}; sync tokens older than
+     * that are refused, so no client can still be waiting for them.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from task where deleted_at < :cutoff", nativeQuery = true)
+    int purgeTombstones(@Param("cutoff") Instant cutoff);
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.taskflow.task.service;
+
+import com.example.taskflow.task.dto.TaskFilter;
+import com.example.taskflow.task.event.TaskEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version of every user's task list, bumped after each committed
+ * change ({@link TaskEvent}), used to answer unchanged home-page reloads with
+ * 304 and no query.
+ * <p>
+ * Versions come from one global clock, so a user whose entry was evicted
+ * restarts above anything handed out before and an old ETag can never match
+ * again. The boot epoch in every ETag does the same across restarts.
+ */
+@Component
+public class TaskListVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong clock = new AtomicLong();
+
+    @Value("${taskflow.tasks.etag.maximum-size:100000}")
+    private long maximumSize;
+
+    private Cache<Long, Long> versions;
+
+    @PostConstruct
+    void init() {
+        versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    // after commit: bumping earlier would let a reload cache the old list under the new version
+    @TransactionalEventListener
+    public void onTaskEvent(TaskEvent event) {
+        versions.put(event.getUserId(), clock.incrementAndGet());
+    }
+
+    public long current(Long userId) {
+        return versions.get(userId, id -> clock.incrementAndGet());
+    }
+
+    /**
+     * Weak ETag for one rendering of the home page. The session is part of it
+     * because the page embeds the session's CSRF token; {@code sessionId} is
+     * {@code null} for a request that has none yet.
+     */
+    public String homePageEtag(Long userId, TaskFilter filter, Long after, Integer size, String sessionId) {
+        int variant = Objects.hash(userId, filter, after, size, sessionId);
+        return "W/\"" + epoch + "-" + current(userId) + "-" + Integer.toHexString(variant) + "\"";
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.taskflow.task.service;
+
+import com.example.taskflow.exception.BatchTooLargeException;
+import com.example.taskflow.exception.TaskConflictException;
+import com.example.taskflow.exception.TaskNotFoundException;
+import com.example.taskflow.task.dto.TaskFilter;
+import com.example.taskflow.task.dto.TaskPage;
+import com.example.taskflow.task.dto.TaskView;
+import com.example.taskflow.task.entity.Task;
+import com.example.taskflow.task.event.TaskEvent;
+import com.example.taskflow.task.repository.ITaskRepository;
+import com.example.taskflow.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TaskService {
+
+    private final ITaskRepository taskRepository;
+    // TaskEvents reach open streams only after the transaction commits (TaskEventBus)
+    private final ApplicationEventPublisher events;
+
+    @Value("${taskflow.tasks.page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${taskflow.tasks.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${taskflow.tasks.max-batch-size:500}")
+    private int maxBatchSize;
+
+    // ─── LIST ──────────────────────────────────────────────────────
+    /**
+     * Loads one keyset page on {@code (user_id, id)}. Fetches a single extra row
+     * to know whether another page follows, so no count query is needed.
+     * Rows come back as {@link TaskView} projections in a read-only transaction,
+     * which lets Hibernate skip dirty checking and the flush.
+     */
+    @Transactional(readOnly = true)
+    public TaskPage listPage(User user, TaskFilter filter, Long after, Integer size) {
+        int pageSize = resolvePageSize(size);
+        long afterId = after != null ? after : 0L;
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TaskView> rows = switch (filter) {
+            case ALL -> taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                    user.getId(), afterId, limit, TaskView.class);
+            case OPEN -> taskRepository.findByUserIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                    user.getId(), false, afterId, limit, TaskView.class);
+            case DONE -> taskRepository.findByUserIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                    user.getId(), true, afterId, limit, TaskView.class);
+        };
+
+        boolean hasNext = rows.size() > pageSize;
+        List<TaskView> tasks = hasNext ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasNext ? tasks.get(pageSize - 1).getId() : null;
+        return new TaskPage(tasks, filter, after, nextCursor, pageSize);
+    }
+
+    // ─── GET ONE ───────────────────────────────────────────────────
+    @Transactional(readOnly = true)
+    public TaskView find(User user, Long id) {
+        return taskRepository.findByIdAndUserId(id, user.getId(), TaskView.class)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    // ─── ADD ───────────────────────────────────────────────────────
+    @Transactional
+    public Task add(User user, String title) {
+        Task task = Task.builder()
+                .title(title)
+                .status(false)
+                .user(user)   // ← stamp the owner
+                .build();
+        Task saved = taskRepository.save(task);
+        events.publishEvent(TaskEvent.created(user.getId(), List.of(view(saved))));
+        return saved;
+    }
+
+    // ─── PARTIAL UPDATE ────────────────────────────────────────────
+    // Ownership-scoped load; only the given fields change and dirty checking
+    // writes a single versioned UPDATE (none if nothing actually changed).
+    // expectedVersion (If-Match) is optional; a concurrent writer is caught by
+    // @Version either way.
+    @Transactional
+    public TaskView update(User user, Long id, String title, Boolean status, Long expectedVersion) {
+        Task task = taskRepository.findByIdAndUserId(id, user.getId(), Task.class)
+                .orElseThrow(() -> notFound(id));
+        if (expectedVersion != null && task.getVersion() != expectedVersion) {
+            throw conflict(id, task.getVersion());
+        }
+        if (title != null) {
+            task.setTitle(title.trim());
+        }
+        if (status != null) {
+            task.setStatus(status);
+        }
+        taskRepository.flush();   // the view carries the version after this change
+        TaskView updated = view(task);
+        events.publishEvent(TaskEvent.updated(user.getId(), List.of(updated)));
+        return updated;
+    }
+
+    // ─── TOGGLE STATUS ─────────────────────────────────────────────
+    // One ownership-scoped UPDATE — no load, no lazy user fetch, no save.
+    // With expectedVersion, a toggle from a stale page is a conflict instead of
+    // undoing the toggle another device just made.
+    @Transactional
+    public void toggle(User user, Long id, Long expectedVersion) {
+        if (taskRepository.toggleStatus(id, user.getId(), expectedVersion) == 0) {
+            throw missingOrConflict(user, id, expectedVersion);
+        }
+        events.publishEvent(TaskEvent.toggled(user.getId(), List.of(id)));
+    }
+
+    // ─── DELETE ────────────────────────────────────────────────────
+    // Soft: the row becomes a tombstone for the delta sync (TaskSyncService)
+    @Transactional
+    public void delete(User user, Long id, Long expectedVersion) {
+        if (taskRepository.deleteOwned(id, user.getId(), expectedVersion, Instant.now()) == 0) {
+            throw missingOrConflict(user, id, expectedVersion);
+        }
+        events.publishEvent(TaskEvent.deleted(user.getId(), List.of(id)));
+    }
+
+    // ─── BATCH ─────────────────────────────────────────────────────
+    // One transaction per call; inserts go out as JDBC batches
+    // (hibernate.jdbc.batch_size), updates/deletes as single set-based statements.
+
+    @Transactional
+    public List<Task> addAll(User user, List<String> titles) {
+        List<Task> tasks = titles.stream()
+                .filter(title -> title != null && !title.isBlank())
+                .map(title -> Task.builder()
+                        .title(title.trim())
+                        .status(false)
+                        .user(user)
+                        .build())
+                .toList();
+        checkBatchSize(tasks.size());
+        List<Task> saved = taskRepository.saveAll(tasks);
+        if (!saved.isEmpty()) {
+            events.publishEvent(TaskEvent.created(
+                    user.getId(), saved.stream().map(TaskService::view).toList()));
+        }
+        return saved;
+    }
+
+    @Transactional
+    public int toggleAll(User user, Collection<Long> ids) {
+        checkBatchSize(ids.size());
+        // only the rows actually flipped: a repeated id flips once, and the page must flip it once.
+        // No task is loaded in this transaction: the bulk update leaves managed entities stale
+        List<Long> toggled = ids.isEmpty() ? List.of() : taskRepository.toggleStatusAll(ids, user.getId());
+        if (!toggled.isEmpty()) {
+            events.publishEvent(TaskEvent.toggled(user.getId(), toggled));
+        }
+        return toggled.size();
+    }
+
+    @Transactional
+    public int deleteAll(User user, Collection<Long> ids) {
+        checkBatchSize(ids.size());
+        // no task is loaded in this transaction: the bulk update leaves managed entities stale
+        List<Long> deleted = ids.isEmpty() ? List.of()
+                : taskRepository.deleteAllOwned(ids, user.getId(), Instant.now());
+        if (!deleted.isEmpty()) {
+            events.publishEvent(TaskEvent.deleted(user.getId(), deleted));
+        }
+        return deleted.size();
+    }
+
+    @Transactional
+    public int clearCompleted(User user) {
+        int deleted = taskRepository.deleteCompleted(user.getId(), Instant.now());
+        if (deleted > 0) {
+            events.publishEvent(TaskEvent.cleared(user.getId()));
+        }
+        return deleted;
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new BatchTooLargeException(
+                    "Batch of " + size + " exceeds the limit of " + maxBatchSize + " tasks");
+        }
+    }
+
+    private static TaskView view(Task task) {
+        return new TaskView(task.getId(), task.getTitle(), task.isStatus(), task.getVersion());
+    }
+
+    // ── another user's task is reported exactly like a missing one ──
+    private static TaskNotFoundException notFound(Long id) {
+        return new TaskNotFoundException("Task not found with id [" + id + "]");
+    }
+
+    private static TaskConflictException conflict(Long id, long currentVersion) {
+        return new TaskConflictException(
+                "Task [" + id + "] was changed concurrently, current version is " + currentVersion);
+    }
+
+    // ── a conditional write matched no row: tell the two cases apart (failure path only) ──
+    private RuntimeException missingOrConflict(User user, Long id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return notFound(id);
+        }
+        return taskRepository.findByIdAndUserId(id, user.getId(), TaskView.class)
+                .<RuntimeException>map(current -> conflict(id, current.getVersion()))
+                .orElseGet(() -> notFound(id));
+    }
+
+    private int resolvePageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.taskflow.task.service;
+
+import com.example.taskflow.exception.InvalidFieldException;
+import com.example.taskflow.exception.SyncTokenExpiredException;
+import com.example.taskflow.task.dto.TaskChange;
+import com.example.taskflow.task.dto.TaskChangesResponse;
+import com.example.taskflow.task.dto.TaskView;
+import com.example.taskflow.task.repository.ITaskRepository;
+import com.example.taskflow.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync over the task change log (V4): instead of the whole list, a
+ * client gets the tasks changed and the ids deleted since its last token, so
+ * sync traffic and reads follow churn rather than list size.
+ * <p>
+ * A token is {@code <changeSeq>.<epochMillis>}: the last change the client has
+ * seen, and a time no later than any change after it. Tombstones older than
+ * the retention are purged, so tokens older than that are refused with 410 and
+ * the client starts over without {@code since}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskSyncService {
+
+    // app and database clocks stamp deleted_at and updated_at respectively
+    private static final Duration PURGE_GRACE = Duration.ofHours(1);
+
+    private final ITaskRepository taskRepository;
+
+    @Value("${taskflow.tasks.sync.batch-size:500}")
+    private int batchSize;
+
+    @Value("${taskflow.tasks.sync.tombstone-retention:30d}")
+    private Duration retention;
+
+    // longest a task write may take between stamping its change and committing
+    @Value("${taskflow.tasks.sync.settle:2s}")
+    private Duration settle;
+
+    // ─── CHANGES ───────────────────────────────────────────────────
+    /**
+     * One batch of changes after {@code since} ({@code null}: every live task).
+     * The returned token only moves past settled changes; newer ones are
+     * returned now and again next time, which clients apply idempotently.
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesResponse changes(User user, String since, Integer limit) {
+        int size = limit == null || limit < 1 ? batchSize : Math.min(limit, batchSize);
+        long now = System.currentTimeMillis();
+        long caughtUpAt = now - settle.toMillis();
+
+        boolean initial = since == null;
+        long sinceSeq = 0;
+        long sinceAt = caughtUpAt;
+        if (!initial) {
+            long[] token = parse(since);
+            sinceSeq = token[0];
+            sinceAt = token[1];
+            if (sinceAt < now - retention.toMillis()) {
+                throw new SyncTokenExpiredException(
+                        "Sync token is older than " + retention + ", sync again without 'since'");
+            }
+        }
+
+        List<TaskChange> rows = taskRepository.findChanges(
+                user.getId(), sinceSeq, !initial, settle.toMillis(), size + 1);
+        boolean more = rows.size() > size;
+        List<TaskChange> batch = more ? rows.subList(0, size) : rows;
+
+        List<TaskView> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long cursorSeq = sinceSeq;
+        long cursorAt = sinceAt;
+        boolean settled = true;
+        for (TaskChange change : batch) {
+            if (change.getDeleted()) {
+                deleted.add(change.getId());
+            } else {
+                upserted.add(new TaskView(
+                        change.getId(), change.getTitle(), change.getStatus(), change.getVersion()));
+            }
+            settled &= change.getSettled();
+            if (settled) {
+                cursorSeq = change.getChangeSeq();
+                cursorAt = Math.max(cursorAt, change.getChangedAt());
+            }
+        }
+        if (settled && !more) {
+            // nothing committed is missing, and anything still in flight was stamped after caughtUpAt
+            cursorAt = Math.max(cursorAt, caughtUpAt);
+        }
+        // an unsettled change stops the cursor: the rest of the batch has to come again anyway
+        return new TaskChangesResponse(upserted, deleted, cursorSeq + "." + cursorAt, more && settled);
+    }
+
+    // ─── PURGE ─────────────────────────────────────────────────────
+    @Scheduled(fixedDelayString = "${taskflow.tasks.sync.purge-interval:1h}")
+    public void purgeTombstones() {
+        int purged = taskRepository.purgeTombstones(Instant.now().minus(retention).minus(PURGE_GRACE));
+        if (purged > 0) {
+            log.info("Purged {} task tombstones older than {}", purged, retention);
+        }
+    }
+
+    // ── helper: "<seq>.<millis>" ──
+    private static long[] parse(String token) {
+        int dot = token.indexOf('.');
+        try {
+            if (dot > 0) {
+                return new long[] {
+                        Long.parseLong(token, 0, dot, 10),
+                        Long.parseLong(token, dot + 1, token.length(), 10)
+                };
+            }
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw new InvalidFieldException("Malformed sync token '" + token + "'");
+    }
+}
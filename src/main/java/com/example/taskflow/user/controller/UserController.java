@@ -4,6 +4,7 @@ import com.example.taskflow.user.dto.UserResponse;
 import com.example.taskflow.user.entity.User;
 import com.example.taskflow.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,7 +34,8 @@ public class UserController {
     }
 
     /**
-     * Returns the currently authenticated user (safe fields only).
+     * Returns the currently authenticated user (safe fields only). Carries a
+     * weak ETag over those fields, so an unchanged user is answered with 304.
      */
     @GetMapping("/me")
     public ResponseEntity<UserResponse> currentUser() {
@@ -40,7 +43,13 @@ public class UserController {
                 .getContext()
                 .getAuthentication()
                 .getPrincipal();
-        return ResponseEntity.ok(toResponse(user));
+        UserResponse response = toResponse(user);
+        int version = Objects.hash(response.getId(), response.getUsername(),
+                response.getEmail(), response.isEnabled());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag("W/\"" + Integer.toHexString(version) + "\"")
+                .body(response);
     }
 
     /**
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,7 +23,8 @@ import java.util.List;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -40,6 +42,11 @@ public class User implements UserDetails {
 
     private LocalDateTime verificationCodeExpiredAt;
 
+    // ── bumped to invalidate the claims embedded in previously issued tokens ──
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long tokenVersion = 0;
+
     public User(String username, String email, String password) {
         this.username = username;
         this.email = email;
@@ -58,6 +65,11 @@ public class User implements UserDetails {
         return email;
     }
 
+    // ── getUsername() is the login (email) for Spring Security; this is the name ──
+    public String getDisplayName() {
+        return username;
+    }
+
     @Override
     public boolean isAccountNonExpired() {
         return true;
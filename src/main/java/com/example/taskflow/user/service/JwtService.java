@@ -1,20 +1,36 @@
 package com.example.taskflow.user.service;
 
+import com.example.taskflow.user.entity.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
@@ -22,12 +38,50 @@ import java.util.function.Function;
 @Setter
 public class JwtService {
 
+    // ── claims that let the filter rebuild the principal without a DB lookup ──
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String DISPLAY_NAME_CLAIM = "name";
+    public static final String AUTHORITIES_CLAIM = "roles";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${security.jwt.secret-key}")
     private String secretKey;
 
     @Value("${security.jwt.expiration-time}")
     private Long expirationTime;
 
+    @Value("${security.jwt.claims-cache.maximum-size:10000}")
+    private long claimsCacheMaximumSize;
+
+    // ── built once: decoding the secret and building a parser per call is wasted work ──
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Key signingKey;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private JwtParser jwtParser;
+
+    /**
+     * Claims of tokens whose signature has already been verified, keyed by a
+     * SHA-256 digest of the token. Each entry lives until the token's own expiry.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Cache<String, Claims> verifiedClaims;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheMaximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -43,6 +97,22 @@ public class JwtService {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    /**
+     * Issues a token that also embeds the user's id, display name, authorities
+     * and token version, see {@link #extractPrincipal(Claims)}.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(DISPLAY_NAME_CLAIM, user.getDisplayName());
+        claims.put(AUTHORITIES_CLAIM, user.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
+        return generateToken(claims, user);
+    }
+
     public String generateToken(
             Map<String, Object> extraClaims,
             UserDetails userDetails
@@ -54,7 +124,7 @@ public class JwtService {
                 .setExpiration(
                         new Date(System.currentTimeMillis() + expirationTime)
                 )
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -62,27 +132,99 @@ public class JwtService {
             String token,
             UserDetails userDetails
     ) {
-        return extractUsername(token)
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    /**
+     * Same check as {@link #isTokenValid(String, UserDetails)} for callers that
+     * already hold the verified claims of the token.
+     */
+    public boolean isTokenValid(
+            Claims claims,
+            UserDetails userDetails
+    ) {
+        return claims.getSubject()
                 .equals(userDetails.getUsername())
-                && !isTokenExpired(token);
+                && !claims.getExpiration().before(new Date());
+    }
+
+    /**
+     * Rebuilds a detached {@link User} from the claims written by
+     * {@link #generateToken(User)}. Empty for tokens issued without them.
+     */
+    public Optional<User> extractPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        Number tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Number.class);
+        if (userId == null || tokenVersion == null) {
+            return Optional.empty();
+        }
+
+        User user = new User();
+        user.setId(userId.longValue());
+        user.setEmail(claims.getSubject());
+        user.setUsername(claims.get(DISPLAY_NAME_CLAIM, String.class));
+        user.setTokenVersion(tokenVersion.longValue());
+        // tokens are only issued to verified accounts
+        user.setEnabled(true);
+        return Optional.of(user);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration)
-                .before(new Date());
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        if (authorities == null) {
+            return List.of();
+        }
+        return authorities.stream()
+                .map(authority -> (GrantedAuthority) new SimpleGrantedAuthority(authority.toString()))
+                .toList();
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Parses and verifies the token, or returns the claims verified by an earlier
+     * call. Throws the usual jjwt exceptions for expired, malformed or forged tokens.
+     */
+    public Claims extractAllClaims(String token) {
+        String digest = digest(token);
+        Claims claims = verifiedClaims.getIfPresent(digest);
+        if (claims == null) {
+            claims = jwtParser.parseClaimsJws(token).getBody();
+            verifiedClaims.put(digest, claims);
+        }
+        return claims;
     }
 
-    private Key getSigningKey() {
-        byte[] keyBytes =
-                Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // every JRE is required to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ── evicts a cached entry exactly when its token stops being valid ──
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.example.taskflow.user.service;
+
+import com.example.taskflow.exception.TooManyRequestsException;
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rehashes the password of a user who just logged in when the stored hash uses
+ * an outdated algorithm or cost. Best effort: the login has already succeeded,
+ * so when the hashing pool has no room the old hash is kept and the upgrade
+ * waits for a later login.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService {
+
+    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    public void upgradeIfOutdated(User user, CharSequence rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        // hashed before the transaction opens, like every other hash
+        String newHash;
+        try {
+            newHash = passwordEncoder.encode(rawPassword);
+        } catch (TooManyRequestsException e) {
+            log.debug("Hashing pool full, rehash of {} deferred", user.getEmail());
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.updatePassword(user.getEmail(), newHash));
+        userLookupCache.evict(user.getEmail());
+        log.debug("Rehashed password of {}", user.getEmail());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.taskflow.user.service;
+
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Tracks the current token version of each user so that a JWT carrying an
+ * embedded principal can be trusted without loading the user row, and a JWT
+ * issued before {@link #revokeIssuedTokens(User)} is refused.
+ * <p>
+ * Versions are cached per node; the TTL bounds how long another node keeps
+ * accepting revoked tokens.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenVersionService {
+
+    private final UserRepository userRepository;
+    private final UserLookupCache userLookupCache;
+
+    @Value("${security.jwt.token-version-cache.maximum-size:100000}")
+    private long maximumSize;
+
+    @Value("${security.jwt.token-version-cache.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    private AsyncCache<Long, Long> currentVersions;
+
+    // ── loads run on their own virtual thread, never inside the cache's bin lock:
+    //    a JDBC call under that monitor would pin the caller's carrier thread ──
+    @PostConstruct
+    void init() {
+        ThreadFactory loaders = Thread.ofVirtual().name("token-version-loader-", 0).factory();
+        currentVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(task -> loaders.newThread(task).start())
+                .buildAsync();
+    }
+
+    /**
+     * True when {@code tokenVersion} is still the user's current version.
+     * A stale token leaves the cached (current) version in place, so one
+     * revoked token cannot evict the entry every other request of that user
+     * relies on. Unknown users are not cached.
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        Long current;
+        try {
+            current = currentVersions.get(userId, id ->
+                    userRepository.findTokenVersionById(id).orElse(null)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        return current != null && current == tokenVersion;
+    }
+
+    /**
+     * Refuses every token issued so far for this user (sign out everywhere).
+     * The cached user is evicted too, so the next login signs the new version.
+     */
+    @Transactional
+    public void revokeIssuedTokens(User user) {
+        userRepository.incrementTokenVersion(user.getId());
+        currentVersions.synchronous().invalidate(user.getId());
+        userLookupCache.evict(user.getEmail());
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.taskflow.user.service;
+
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Read-through cache in front of {@link UserRepository#findByEmail(String)}.
+ * <p>
+ * Cached users are shared between threads and must be treated as read-only:
+ * code that mutates a user loads it from the repository, saves it and then
+ * calls {@link #evict(String)}. Misses are not cached, so a freshly registered
+ * email is visible immediately. Hit/miss/eviction counts are published as the
+ * {@code cache.*} meters tagged {@code cache=users}.
+ * <p>
+ * Loads run on their own virtual thread rather than inside the cache's bin
+ * lock, where the JDBC call would pin the request's carrier thread.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserLookupCache {
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${taskflow.cache.users.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${taskflow.cache.users.expire-after-write:5m}")
+    private Duration expireAfterWrite;
+
+    private AsyncCache<String, User> usersByEmail;
+
+    @PostConstruct
+    void init() {
+        ThreadFactory loaders = Thread.ofVirtual().name("user-cache-loader-", 0).factory();
+        usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .executor(task -> loaders.newThread(task).start())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "users");
+    }
+
+    public Optional<User> findByEmail(String email) {
+        try {
+            return Optional.ofNullable(usersByEmail.get(email, key ->
+                    userRepository.findByEmail(key).orElse(null)).join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void evict(String email) {
+        usersByEmail.synchronous().invalidate(email);
+    }
+}
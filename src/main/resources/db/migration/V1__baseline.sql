@@ -0,0 +1,43 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+--
+-- Databases created that way are baselined at version 0 (see
+-- spring.flyway.baseline-on-migrate), so every statement here must be a no-op
+-- against them: tables and sequences are only created when missing.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id                            BIGINT       NOT NULL PRIMARY KEY,
+    username                      VARCHAR(255) NOT NULL,
+    email                         VARCHAR(255) NOT NULL UNIQUE,
+    password                      VARCHAR(255) NOT NULL,
+    enabled                       BOOLEAN      NOT NULL,
+    verification_code             VARCHAR(255),
+    verification_code_expired_at  TIMESTAMP(6),
+    token_version                 BIGINT       NOT NULL DEFAULT 0
+);
+
+-- added after the first deployments; ddl-auto only picked it up on restart
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS task
+(
+    id      BIGINT       NOT NULL PRIMARY KEY,
+    title   VARCHAR(255) NOT NULL,
+    status  BOOLEAN      NOT NULL,
+    user_id BIGINT       NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox
+(
+    id                BIGINT       NOT NULL PRIMARY KEY,
+    recipient         VARCHAR(255) NOT NULL,
+    verification_code VARCHAR(255) NOT NULL,
+    attempts          INTEGER      NOT NULL,
+    created_at        TIMESTAMP(6) NOT NULL,
+    next_attempt_at   TIMESTAMP(6) NOT NULL,
+    sent_at           TIMESTAMP(6)
+);
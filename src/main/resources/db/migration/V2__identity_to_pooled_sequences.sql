@@ -0,0 +1,26 @@
+-- Moves task / users / email_outbox ids from IDENTITY columns to the pooled
+-- sequences the entities now use (allocationSize = 50). Only does real work on
+-- databases whose tables were created by ddl-auto=update before that change.
+--
+-- Each sequence is positioned so that the first block Hibernate's pooled
+-- optimizer hands out starts right after MAX(id).
+DO $$
+DECLARE
+    t record;
+BEGIN
+    FOR t IN
+        SELECT *
+        FROM (VALUES ('task', 'task_seq'),
+                     ('users', 'users_seq'),
+                     ('email_outbox', 'email_outbox_seq')) AS v(tbl, seq)
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', t.seq);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t.seq);
+
+        IF to_regclass(t.tbl) IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t.tbl);
+            EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)',
+                           t.seq, t.tbl);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,17 @@
+-- Task home page: keyset pages per owner, optionally filtered by status
+--   where user_id = ? [and status = ?] and id > ? order by id limit ?
+-- (user_id, id) serves the unfiltered tab and the ownership-scoped updates /
+-- deletes; (user_id, status, id) serves the OPEN / DONE tabs and clear-completed.
+CREATE INDEX IF NOT EXISTS idx_task_user_id ON task (user_id, id);
+CREATE INDEX IF NOT EXISTS idx_task_user_status_id ON task (user_id, status, id);
+
+-- findByVerificationCode: the code is cleared once the account is verified, so
+-- only unverified users are indexed.
+CREATE INDEX IF NOT EXISTS idx_users_unverified_code ON users (verification_code)
+    WHERE verification_code IS NOT NULL;
+
+-- Outbox dispatcher (lockDue) and resend (deleteUnsent) only look at unsent rows.
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending ON email_outbox (next_attempt_at)
+    WHERE sent_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending_recipient ON email_outbox (recipient)
+    WHERE sent_at IS NULL;
@@ -0,0 +1,44 @@
+-- Delta sync (GET /api/v1/tasks/changes): every insert and update of a task
+-- stamps it with the next value of one global change sequence and the time of
+-- that change. Deletes set deleted_at instead of removing the row; the
+-- tombstones are purged once they are older than the sync retention.
+CREATE SEQUENCE IF NOT EXISTS task_change_seq;
+
+ALTER TABLE task ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS updated_at TIMESTAMPTZ;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+
+-- clock_timestamp() rather than now(): the time the sequence value was taken,
+-- so change_seq and updated_at grow together even inside long transactions
+CREATE OR REPLACE FUNCTION task_stamp_change() RETURNS trigger AS
+$$
+BEGIN
+    NEW.change_seq := nextval('task_change_seq');
+    NEW.updated_at := clock_timestamp();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS task_stamp_change ON task;
+CREATE TRIGGER task_stamp_change
+    BEFORE INSERT OR UPDATE ON task
+    FOR EACH ROW EXECUTE FUNCTION task_stamp_change();
+
+-- existing rows: the trigger stamps them
+UPDATE task SET change_seq = NULL WHERE change_seq IS NULL;
+ALTER TABLE task ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE task ALTER COLUMN updated_at SET NOT NULL;
+
+-- findChanges: where user_id = ? and change_seq > ? order by change_seq limit ?
+CREATE INDEX IF NOT EXISTS idx_task_user_change_seq ON task (user_id, change_seq);
+
+-- purgeTombstones
+CREATE INDEX IF NOT EXISTS idx_task_deleted_at ON task (deleted_at)
+    WHERE deleted_at IS NOT NULL;
+
+-- Pages, toggles and clear-completed never read tombstones: keep the V3 keyset
+-- indexes to live rows only.
+DROP INDEX IF EXISTS idx_task_user_id;
+CREATE INDEX idx_task_user_id ON task (user_id, id) WHERE deleted_at IS NULL;
+DROP INDEX IF EXISTS idx_task_user_status_id;
+CREATE INDEX idx_task_user_status_id ON task (user_id, status, id) WHERE deleted_at IS NULL;
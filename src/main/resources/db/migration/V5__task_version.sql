@@ -0,0 +1,3 @@
+-- Optimistic locking: Task.version (@Version) is bumped by every entity update,
+-- and explicitly by the set-based toggles and soft deletes in ITaskRepository.
+ALTER TABLE task ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
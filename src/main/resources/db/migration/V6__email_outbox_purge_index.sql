@@ -0,0 +1,3 @@
+-- OutboxDispatcher.purgeFinished: delete sent rows older than the retention
+CREATE INDEX IF NOT EXISTS idx_email_outbox_sent_at ON email_outbox (sent_at)
+    WHERE sent_at IS NOT NULL;
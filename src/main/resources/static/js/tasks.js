@@ -0,0 +1,165 @@
+/*
+ * Live task list: forms are posted in the background and the page is updated
+ * from the /tasks/stream Server-Sent Events, in this tab and in every other
+ * tab or device the user has open. Without a live stream the forms submit
+ * normally (full page reload).
+ */
+(function () {
+    const container = document.querySelector('.to-do-container');
+    const list = document.querySelector('.todo-list');
+    const template = document.getElementById('task-template');
+    if (!container || !list || !template || !window.EventSource) {
+        return;
+    }
+
+    const filter = container.dataset.filter;
+    const lastPage = container.dataset.lastPage === 'true';
+    let stream;
+    let connectedOnce = false;
+
+    // ── events ─────────────────────────────────────────────────
+    function connect() {
+        stream = new EventSource('/tasks/stream');
+
+        stream.addEventListener('open', () => {
+            // anything sent while we were disconnected is lost: resync once
+            if (connectedOnce) {
+                window.location.reload();
+            }
+            connectedOnce = true;
+        });
+
+        stream.addEventListener('created', event => {
+            // keyset pages are ordered by id, so new tasks belong on the last page
+            if (filter === 'done' || !lastPage) {
+                return;
+            }
+            JSON.parse(event.data).tasks.forEach(task => {
+                if (!findItem(task.id)) {
+                    list.appendChild(renderItem(task));
+                }
+            });
+            refreshEmptyState();
+        });
+
+        stream.addEventListener('updated', event => {
+            JSON.parse(event.data).tasks.forEach(task => {
+                const item = findItem(task.id);
+                if (!item) {
+                    return;
+                }
+                if (filter !== 'all' && task.status !== (filter === 'done')) {
+                    item.remove();
+                } else {
+                    item.querySelector('.todo-text').textContent = task.title;
+                    setDone(item, task.status);
+                    setVersion(item, task.version);
+                }
+            });
+            refreshEmptyState();
+        });
+
+        stream.addEventListener('toggled', event => {
+            JSON.parse(event.data).ids.forEach(id => {
+                const item = findItem(id);
+                if (!item) {
+                    return;
+                }
+                if (filter === 'all') {
+                    setDone(item, !isDone(item));
+                    // every toggle bumps the version by exactly one
+                    setVersion(item, Number(item.querySelector('input[name="version"]').value) + 1);
+                } else {
+                    item.remove();   // no longer matches open / done
+                }
+            });
+            refreshEmptyState();
+        });
+
+        stream.addEventListener('deleted', event => {
+            JSON.parse(event.data).ids.forEach(id => {
+                const item = findItem(id);
+                if (item) {
+                    item.remove();
+                }
+            });
+            refreshEmptyState();
+        });
+
+        stream.addEventListener('cleared', () => {
+            list.querySelectorAll('.todo-item').forEach(item => {
+                if (isDone(item)) {
+                    item.remove();
+                }
+            });
+            refreshEmptyState();
+        });
+    }
+
+    // ── forms: post in the background, let the stream update the page ──
+    container.addEventListener('submit', event => {
+        const form = event.target;
+        if (form.method.toLowerCase() !== 'post' || stream.readyState !== EventSource.OPEN) {
+            return;
+        }
+        event.preventDefault();
+        fetch(form.action, {
+            method: 'POST',
+            body: new URLSearchParams(new FormData(form)),
+            credentials: 'same-origin',
+            // the controllers answer with redirect:/ — not following it saves the page render
+            redirect: 'manual'
+        }).then(response => {
+            if (response.type !== 'opaqueredirect' && !response.ok) {
+                window.location.reload();
+                return;
+            }
+            const input = form.querySelector('.todo-input');
+            if (input) {
+                input.value = '';
+            }
+        }).catch(() => form.submit());
+    });
+
+    // ── helpers ──
+    function findItem(id) {
+        return list.querySelector('.todo-item[data-task-id="' + id + '"]');
+    }
+
+    function renderItem(task) {
+        const item = template.content.firstElementChild.cloneNode(true);
+        item.dataset.taskId = task.id;
+        const [toggleForm, deleteForm] = item.querySelectorAll('form');
+        toggleForm.action = '/update/' + task.id;
+        deleteForm.action = '/delete/' + task.id;
+        item.querySelector('.todo-text').textContent = task.title;
+        setDone(item, task.status);
+        setVersion(item, task.version);
+        return item;
+    }
+
+    function isDone(item) {
+        return item.querySelector('.todo-text').classList.contains('done');
+    }
+
+    function setDone(item, done) {
+        item.querySelector('.todo-text').classList.toggle('done', done);
+        const icon = item.querySelector('.status-btn i');
+        icon.classList.toggle('bi-check-circle-fill', done);
+        icon.classList.toggle('check-icon', done);
+        icon.classList.toggle('bi-circle', !done);
+        icon.classList.toggle('uncheck-icon', !done);
+    }
+
+    function setVersion(item, version) {
+        item.querySelector('input[name="version"]').value = version;
+    }
+
+    function refreshEmptyState() {
+        const empty = list.querySelector('.todo-item') === null;
+        document.querySelector('.empty-state').classList.toggle('d-none', !empty);
+        document.querySelector('.clear-completed').classList.toggle('d-none', empty);
+    }
+
+    connect();
+})();
@@ -0,0 +1,164 @@
+package com.example.taskflow;
+
+import com.example.taskflow.support.EmbeddedPostgresSupport;
+import com.example.taskflow.user.repository.UserRepository;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Walks signup → verify → login → add task against embedded PostgreSQL and an
+ * in-process SMTP server, then checks that the Prometheus scrape carries the
+ * application, mail, JWT, Hikari and Hibernate meters. The scrape is read over
+ * HTTP from the management port; the application port does not serve it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class MetricsEndpointTests {
+
+    private static final String EMAIL = "metrics@taskflow.local";
+    private static final String PASSWORD = "metrics-password";
+
+    private static final GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+
+    static {
+        greenMail.setUser("support@taskflow.local", "secret");
+        greenMail.start();
+    }
+
+    @DynamicPropertySource
+    static void environment(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDataSource(registry);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", () -> greenMail.getSmtp().getPort());
+        registry.add("spring.mail.username", () -> "support@taskflow.local");
+        registry.add("spring.mail.password", () -> "secret");
+        registry.add("taskflow.mail.outbox.poll-interval", () -> "200ms");
+        registry.add("taskflow.password-hashing.bcrypt.strength", () -> 4);
+        registry.add("management.server.port", () -> 0);
+    }
+
+    @AfterAll
+    static void stopSmtp() {
+        greenMail.stop();
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void prometheusScrapeExposesApplicationAndInfrastructureMeters() throws Exception {
+        mockMvc.perform(post("/auth/signup").with(csrf())
+                        .param("username", "Metrics")
+                        .param("email", EMAIL)
+                        .param("password", PASSWORD)
+                        .param("confirmPassword", PASSWORD))
+                .andExpect(redirectedUrl("/auth/verify"));
+
+        String code = userRepository.findByEmail(EMAIL).orElseThrow().getVerificationCode();
+        mockMvc.perform(post("/auth/verify").with(csrf())
+                        .param("email", EMAIL)
+                        .param("otp", code.split("")))
+                .andExpect(redirectedUrl("/auth/login"));
+
+        Cookie jwt = mockMvc.perform(post("/auth/login").with(csrf())
+                        .param("email", EMAIL)
+                        .param("password", PASSWORD))
+                .andExpect(redirectedUrl("/"))
+                .andReturn()
+                .getResponse()
+                .getCookie("jwt");
+
+        mockMvc.perform(post("/add").with(csrf()).cookie(jwt).param("title", "Scrape me"))
+                .andExpect(redirectedUrl("/"));
+        mockMvc.perform(get("/").cookie(jwt))
+                .andExpect(status().isOk());
+
+        // the verification mail is delivered in the background by the outbox dispatcher
+        String scrape = scrapeUntil("taskflow_email_send_seconds_count", 15_000);
+
+        assertThat(scrape)
+                .contains("taskflow_auth_seconds_count")
+                .contains("operation=\"signup\"", "operation=\"verify\"", "operation=\"authenticate\"")
+                .contains("taskflow_tasks_seconds_count")
+                .contains("operation=\"add\"", "operation=\"list\"")
+                .contains("taskflow_jwt_validation_seconds_count")
+                .contains("outcome=\"valid\"")
+                .contains("taskflow_email_send_seconds_count")
+                .contains("outcome=\"sent\"")
+                .contains("taskflow_mail_smtp_seconds_count")
+                .contains("taskflow_password_hash_seconds_count")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_sessions_open");
+
+        HttpResponse<String> onAppPort = scrape(serverPort);
+        assertThat(onAppPort.body()).doesNotContain("taskflow_auth_seconds_count");
+    }
+
+    private String scrapeUntil(String meter, long timeoutMillis) throws Exception {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        String scrape;
+        do {
+            HttpResponse<String> response = scrape(managementPort);
+            assertThat(response.statusCode()).isEqualTo(200);
+            scrape = response.body();
+            if (scrape.contains(meter)) {
+                return scrape;
+            }
+            Thread.sleep(200);
+        } while (System.currentTimeMillis() < deadline);
+        return scrape;
+    }
+
+    private HttpResponse<String> scrape(int port) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/actuator/prometheus")).build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.taskflow.auth;
+
+import com.example.taskflow.support.EmbeddedPostgresSupport;
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import com.example.taskflow.user.service.JwtService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sign out everywhere: every token issued before it is refused, including
+ * ones still within their expiry, and tokens issued afterwards work.
+ */
+@SpringBootTest
+class LogoutAllTests {
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDataSource(registry);
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void logoutAllRefusesEveryEarlierToken() throws Exception {
+        User user = new User("devices", UUID.randomUUID() + "@logout.local", "{noop}secret");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        String browser = jwtService.generateToken(user);
+        String phone = "Bearer " + jwtService.generateToken(user);
+
+        mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, phone))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout-all").with(csrf()).cookie(new Cookie("jwt", browser)))
+                .andExpect(redirectedUrl("/auth/login"))
+                .andExpect(cookie().maxAge("jwt", 0));
+
+        mockMvc.perform(get("/api/v1/tasks").header(HttpHeaders.AUTHORIZATION, phone))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/").cookie(new Cookie("jwt", browser)))
+                .andExpect(redirectedUrl("/auth/login"));
+
+        User reloaded = userRepository.findById(user.getId()).orElseThrow();
+        mockMvc.perform(get("/api/v1/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(reloaded)))
+                .andExpect(status().isOk());
+    }
+}
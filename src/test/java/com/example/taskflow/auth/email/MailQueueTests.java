@@ -0,0 +1,122 @@
+package com.example.taskflow.auth.email;
+
+import com.example.taskflow.exception.MailQueueFullException;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MailQueueTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailQueue mailQueue;
+
+    @AfterEach
+    void stopQueue() throws InterruptedException {
+        if (mailQueue != null) {
+            mailQueue.stop();
+        }
+    }
+
+    @Test
+    void deliversQueuedMessagesToSmtpServer() throws Exception {
+        JavaMailSenderImpl sender = greenMailSender();
+        mailQueue = startQueue(sender, 100, 2);
+
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            deliveries.add(mailQueue.submit(message(sender, "user" + i + "@example.com")));
+        }
+
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new))
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(25, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void rejectsMailWhenQueueIsFull() throws Exception {
+        JavaMailSenderImpl sender = greenMailSender();
+        // no workers, so nothing drains the single slot
+        mailQueue = startQueue(sender, 1, 0);
+
+        mailQueue.submit(message(sender, "first@example.com"));
+
+        assertThrows(MailQueueFullException.class,
+                () -> mailQueue.submit(message(sender, "second@example.com")));
+    }
+
+    @Test
+    void workerSurvivesUnexpectedFailureOfABatch() throws Exception {
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        JavaMailSenderImpl sender = new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                if (failNext.getAndSet(false)) {
+                    throw new IllegalStateException("broken message");
+                }
+                super.send(mimeMessages);
+            }
+        };
+        sender.setHost("localhost");
+        sender.setPort(greenMail.getSmtp().getPort());
+        mailQueue = startQueue(sender, 10, 1);
+
+        CompletableFuture<Void> broken = mailQueue.submit(message(sender, "broken@example.com"));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> broken.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+        // the only worker is still draining
+        mailQueue.submit(message(sender, "next@example.com")).get(5, TimeUnit.SECONDS);
+        assertEquals(1, greenMail.getReceivedMessages().length);
+    }
+
+    private static JavaMailSenderImpl greenMailSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(greenMail.getSmtp().getPort());
+        return sender;
+    }
+
+    private static MailQueue startQueue(JavaMailSenderImpl sender, int capacity, int workers) {
+        MailQueue queue = new MailQueue(sender, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queue, "capacity", capacity);
+        ReflectionTestUtils.setField(queue, "workers", workers);
+        ReflectionTestUtils.setField(queue, "batchSize", 10);
+        ReflectionTestUtils.setField(queue, "maxAttempts", 2);
+        ReflectionTestUtils.setField(queue, "initialBackoff", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(queue, "offerTimeout", Duration.ofMillis(10));
+        queue.start();
+        return queue;
+    }
+
+    private static MimeMessage message(JavaMailSenderImpl sender, String to) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setFrom("noreply@taskflow.local");
+        helper.setTo(to);
+        helper.setSubject("Taskflow – Verify Your Email");
+        helper.setText("123456");
+        return message;
+    }
+}
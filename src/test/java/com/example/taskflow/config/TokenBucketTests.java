@@ -0,0 +1,63 @@
+package com.example.taskflow.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void allowsABurstOfCapacityThenRefillsOneTokenPerInterval() {
+        TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3));
+        long now = 42 * SECOND;
+
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isZero();
+        assertThat(bucket.tryConsume(now)).isEqualTo(SECOND);
+
+        assertThat(bucket.tryConsume(now + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryConsume(now + SECOND)).isZero();
+        assertThat(bucket.tryConsume(now + SECOND)).isEqualTo(SECOND);
+
+        // idle for a whole period: a full burst again, never more
+        long later = now + 10 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryConsume(later)).isZero();
+        }
+        assertThat(bucket.tryConsume(later)).isPositive();
+    }
+
+    @Test
+    void concurrentTakesNeverExceedCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(100, Duration.ofHours(1));
+        long now = System.nanoTime();
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService threads = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                threads.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 50; i++) {
+                        if (bucket.tryConsume(now) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertThat(granted).hasValue(100);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.taskflow.load;
+
+import com.example.taskflow.support.EmbeddedPostgresSupport;
+import com.example.taskflow.user.repository.UserRepository;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the full browser flow against one node of the application on embedded
+ * PostgreSQL, with verification mail going to an in-process SMTP server:
+ * signup → verify → login → home → add / toggle / delete tasks → home.
+ * <p>
+ * Every virtual user runs on its own virtual thread with its own cookie jar
+ * and CSRF token; redirects are not followed so each request is timed alone.
+ * Prints throughput and p50 / p99 / p999 per endpoint.
+ * <pre>
+ * ./mvnw -Pbenchmarks test -Dtest=EndToEndLoadBenchmark \
+ *     -Dload.users=500 -Dload.concurrency=100 -Dload.tasks-per-user=10
+ * </pre>
+ * {@code load.tasks-per-user} must fit on the first home page ({@code taskflow.tasks.page-size}).
+ * Subclasses rerun the same journey with different application properties.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DirtiesContext
+class EndToEndLoadBenchmark {
+
+    private static final int USERS = Integer.getInteger("load.users", 200);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 50);
+    private static final int TASKS_PER_USER = Integer.getInteger("load.tasks-per-user", 10);
+    private static final int WARMUP_USERS = Integer.getInteger("load.warmup-users", 20);
+
+    private static final String PASSWORD = "load-test-password";
+    private static final String SMTP_USER = "loadtest@taskflow.local";
+    private static final String SMTP_PASSWORD = "secret";
+
+    private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final Pattern TASK_ID = Pattern.compile("action=\"/update/(\\d+)\"");
+
+    private static final GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+
+    static {
+        greenMail.setUser(SMTP_USER, SMTP_PASSWORD);
+        greenMail.start();
+        // shared by every subclass, so it outlives any single test class
+        Runtime.getRuntime().addShutdownHook(new Thread(greenMail::stop));
+    }
+
+    @DynamicPropertySource
+    static void environment(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDataSource(registry);
+        registry.add("spring.mail.host", () -> "localhost");
+        registry.add("spring.mail.port", () -> greenMail.getSmtp().getPort());
+        registry.add("spring.mail.username", () -> SMTP_USER);
+        registry.add("spring.mail.password", () -> SMTP_PASSWORD);
+        registry.add("taskflow.mail.outbox.poll-interval", () -> "200ms");
+        // every virtual user comes from 127.0.0.1
+        registry.add("taskflow.auth.throttle.max-attempts-per-ip", () -> Integer.MAX_VALUE);
+        registry.add("taskflow.rate-limit.enabled", () -> false);
+    }
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    @Test
+    void fullUserJourney() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            LatencyRecorder warmup = new LatencyRecorder();
+            int warmupFailures = run(client, warmup, "warmup", WARMUP_USERS);
+            assertEquals(0, warmupFailures, "user journey is broken, see errors above");
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            long start = System.nanoTime();
+            int failures = run(client, recorder, "load", USERS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            System.out.printf("%n%s: %d users (%d concurrent, %d tasks each) on %s threads, %d aborted%n",
+                    getClass().getSimpleName(), USERS, CONCURRENCY, TASKS_PER_USER,
+                    virtualThreads ? "virtual" : "platform", failures);
+            recorder.report(System.out, elapsed);
+        }
+
+        greenMail.waitForIncomingEmail(10_000, WARMUP_USERS + USERS);
+        System.out.printf("verification emails delivered: %d / %d%n",
+                greenMail.getReceivedMessages().length, WARMUP_USERS + USERS);
+    }
+
+    private int run(HttpClient client, LatencyRecorder recorder, String phase, int users)
+            throws InterruptedException {
+        Semaphore slots = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            String email = phase + "-" + runId + "-" + i + "@taskflow.local";
+            slots.acquire();
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    new VirtualUser(client, recorder, email).journey();
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                    System.err.println(email + ": " + e.getMessage());
+                } finally {
+                    slots.release();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return failures.get();
+    }
+
+    // ── one browser: cookie jar + the last CSRF token it saw ──
+    private final class VirtualUser {
+
+        private final HttpClient client;
+        private final LatencyRecorder recorder;
+        private final String email;
+        private final Map<String, String> cookies = new HashMap<>();
+        private String csrf;
+
+        VirtualUser(HttpClient client, LatencyRecorder recorder, String email) {
+            this.client = client;
+            this.recorder = recorder;
+            this.email = email;
+        }
+
+        void journey() throws IOException, InterruptedException {
+            page("GET /auth/signup", "/auth/signup");
+            post("POST /auth/signup", "/auth/signup", "/auth/verify",
+                    "username", "Load User", "email", email,
+                    "password", PASSWORD, "confirmPassword", PASSWORD);
+
+            String code = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new IllegalStateException("user was not created"))
+                    .getVerificationCode();
+            List<String> verifyForm = new ArrayList<>(List.of("email", email));
+            for (char digit : code.toCharArray()) {
+                verifyForm.add("otp");
+                verifyForm.add(String.valueOf(digit));
+            }
+            page("GET /auth/verify", "/auth/verify");
+            post("POST /auth/verify", "/auth/verify", "/auth/login", verifyForm.toArray(String[]::new));
+
+            page("GET /auth/login", "/auth/login");
+            post("POST /auth/login", "/auth/login", "/", "email", email, "password", PASSWORD);
+
+            page("GET /", "/");
+            for (int i = 0; i < TASKS_PER_USER; i++) {
+                post("POST /add", "/add", "/", "title", "Task " + i);
+            }
+
+            List<String> ids = new ArrayList<>();
+            Matcher matcher = TASK_ID.matcher(page("GET /", "/"));
+            while (matcher.find()) {
+                ids.add(matcher.group(1));
+            }
+            if (ids.size() != TASKS_PER_USER) {
+                throw new IllegalStateException("expected " + TASKS_PER_USER + " tasks, home page shows " + ids.size());
+            }
+            for (String id : ids) {
+                post("POST /update/{id}", "/update/" + id, "/");
+            }
+            for (String id : ids) {
+                post("POST /delete/{id}", "/delete/" + id, "/");
+            }
+            page("GET /", "/");
+        }
+
+        // ── GET a page, expect 200, remember its CSRF token ──
+        private String page(String endpoint, String path) throws IOException, InterruptedException {
+            HttpResponse<String> response = send(endpoint, request(path).GET().build());
+            if (response.statusCode() != 200) {
+                throw fail(endpoint, "status " + response.statusCode());
+            }
+            Matcher matcher = CSRF.matcher(response.body());
+            if (matcher.find()) {
+                csrf = matcher.group(1);
+            }
+            return response.body();
+        }
+
+        // ── POST a form, expect a redirect to the given path ──
+        private void post(String endpoint, String path, String expectedLocation, String... form)
+                throws IOException, InterruptedException {
+            StringBuilder body = new StringBuilder("_csrf=").append(encode(csrf));
+            for (int i = 0; i < form.length; i += 2) {
+                body.append('&').append(encode(form[i])).append('=').append(encode(form[i + 1]));
+            }
+            HttpRequest request = request(path)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+
+            HttpResponse<String> response = send(endpoint, request);
+            String location = response.headers().firstValue("Location")
+                    .map(value -> URI.create(value).getPath())
+                    .orElse(null);
+            if (response.statusCode() != 302 || !expectedLocation.equals(location)) {
+                throw fail(endpoint, "status " + response.statusCode() + ", location " + location);
+            }
+        }
+
+        private HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                    .timeout(Duration.ofSeconds(30));
+            if (!cookies.isEmpty()) {
+                StringBuilder header = new StringBuilder();
+                cookies.forEach((name, value) -> header.append(name).append('=').append(value).append("; "));
+                builder.header("Cookie", header.toString());
+            }
+            return builder;
+        }
+
+        private HttpResponse<String> send(String endpoint, HttpRequest request)
+                throws IOException, InterruptedException {
+            long start = System.nanoTime();
+            HttpResponse<String> response;
+            try {
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                recorder.error(endpoint);
+                throw e;
+            }
+            recorder.record(endpoint, System.nanoTime() - start);
+            response.headers().allValues("Set-Cookie").forEach(this::storeCookie);
+            return response;
+        }
+
+        private void storeCookie(String setCookie) {
+            String pair = setCookie.split(";", 2)[0];
+            int eq = pair.indexOf('=');
+            String name = pair.substring(0, eq).trim();
+            String value = pair.substring(eq + 1).trim();
+            if (value.isEmpty() || setCookie.contains("Max-Age=0")) {
+                cookies.remove(name);
+            } else {
+                cookies.put(name, value);
+            }
+        }
+
+        private IllegalStateException fail(String endpoint, String reason) {
+            recorder.error(endpoint);
+            return new IllegalStateException(endpoint + ": " + reason);
+        }
+
+        private static String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+}
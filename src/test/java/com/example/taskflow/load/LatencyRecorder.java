@@ -0,0 +1,89 @@
+package com.example.taskflow.load;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Per-endpoint latency samples for the load harness. Keeps every sample
+ * (a run is at most a few hundred thousand requests) so percentiles are exact.
+ */
+final class LatencyRecorder {
+
+    private final Map<String, Samples> endpoints = new ConcurrentSkipListMap<>();
+
+    void record(String endpoint, long nanos) {
+        samples(endpoint).add(nanos);
+    }
+
+    void error(String endpoint) {
+        samples(endpoint).error();
+    }
+
+    long errors() {
+        return endpoints.values().stream().mapToLong(Samples::errors).sum();
+    }
+
+    void report(PrintStream out, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf("%n%-24s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Samples> entry : endpoints.entrySet()) {
+            long[] sorted = entry.getValue().sorted();
+            total += sorted.length;
+            out.printf("%-24s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, entry.getValue().errors(), sorted.length / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                    millis(percentile(sorted, 0.999)), millis(percentile(sorted, 1.0)));
+        }
+        out.printf("%-24s %8d %7d %9.1f   (%.1f s)%n%n", "total", total, errors(), total / seconds, seconds);
+    }
+
+    private Samples samples(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, name -> new Samples());
+    }
+
+    // ── nearest-rank percentile ──
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized void error() {
+            errors++;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
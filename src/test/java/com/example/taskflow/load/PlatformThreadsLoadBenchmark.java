@@ -0,0 +1,17 @@
+package com.example.taskflow.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The load journey with requests served by Tomcat's platform-thread pool
+ * (200 threads by default). Compare with {@link VirtualThreadsLoadBenchmark}
+ * at a concurrency above the pool size:
+ * <pre>
+ * ./mvnw -Pbenchmarks test -Dtest='*ThreadsLoadBenchmark' -Dload.concurrency=400
+ * </pre>
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsLoadBenchmark extends EndToEndLoadBenchmark {
+}
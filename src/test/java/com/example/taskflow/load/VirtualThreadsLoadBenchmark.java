@@ -0,0 +1,13 @@
+package com.example.taskflow.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The load journey with every request on its own virtual thread. Same
+ * connection pool as {@link PlatformThreadsLoadBenchmark}.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsLoadBenchmark extends EndToEndLoadBenchmark {
+}
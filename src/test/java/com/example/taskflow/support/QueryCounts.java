@@ -0,0 +1,61 @@
+package com.example.taskflow.support;
+
+import com.example.taskflow.config.QueryCountInspector;
+import com.example.taskflow.config.QueryCountInspector.QueryCount;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions on the SQL statements a block of code issues on the calling
+ * thread, counted by {@link QueryCountInspector}. Work handed to other
+ * threads (async mail, cache loaders) is not counted.
+ */
+public final class QueryCounts {
+
+    private QueryCounts() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public static QueryCount count(Action action) throws Exception {
+        QueryCountInspector.start();
+        try {
+            action.run();
+        } catch (Exception | Error e) {
+            QueryCountInspector.stop();
+            throw e;
+        }
+        return QueryCountInspector.stop();
+    }
+
+    public static QueryCount assertStatements(int expected, Action action) throws Exception {
+        QueryCount count = count(action);
+        assertEquals(expected, count.total(), () -> describe(count));
+        return count;
+    }
+
+    public static QueryCount assertSelects(int expected, Action action) throws Exception {
+        QueryCount count = count(action);
+        assertEquals(expected, count.selects(), () -> describe(count));
+        return count;
+    }
+
+    /**
+     * N+1 check: the same action over a small and a large data set must issue
+     * the same number of statements.
+     */
+    public static void assertConstant(Action small, Action large) throws Exception {
+        QueryCount smallCount = count(small);
+        QueryCount largeCount = count(large);
+        assertEquals(smallCount.total(), largeCount.total(),
+                () -> "statement count grows with the data (N+1?)\nsmall: " + describe(smallCount)
+                        + "\nlarge: " + describe(largeCount));
+    }
+
+    private static String describe(QueryCount count) {
+        return count + "\n  " + String.join("\n  ", count.statements());
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.taskflow.task;
+
+import com.example.taskflow.config.IdempotencyFilter;
+import com.example.taskflow.support.EmbeddedPostgresSupport;
+import com.example.taskflow.task.entity.Task;
+import com.example.taskflow.task.event.TaskEvent;
+import com.example.taskflow.task.repository.ITaskRepository;
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import com.example.taskflow.user.service.JwtService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@RecordApplicationEvents
+class TaskApiControllerTests {
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDataSource(registry);
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private MockMvc mockMvc;
+    private User owner;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .addFilters(idempotencyFilter)   // after the security chain, as in the servlet container
+                .build();
+        owner = newUser();
+        task = taskRepository.save(Task.builder().title("Write API").status(false).user(owner).build());
+    }
+
+    @Test
+    void listReturnsOnlyRequestedFields() throws Exception {
+        mockMvc.perform(get("/api/v1/tasks").param("fields", "id,title").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(task.getId()))
+                .andExpect(jsonPath("$.tasks[0].title").value("Write API"))
+                .andExpect(jsonPath("$.tasks[0].status").doesNotExist())
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        mockMvc.perform(get("/api/v1/tasks").param("fields", "password").with(user(owner)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void patchChangesOnlyGivenFieldsOfOwnTasks() throws Exception {
+        mockMvc.perform(patch("/api/v1/tasks/{id}", task.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(owner))
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Write API"))
+                .andExpect(jsonPath("$.status").value(true));
+
+        mockMvc.perform(patch("/api/v1/tasks/{id}", task.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(newUser()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Not yours\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void staleIfMatchIsAConflict() throws Exception {
+        String bearer = "Bearer " + jwtService.generateToken(owner);
+        mockMvc.perform(patch("/api/v1/tasks/{id}", task.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"First\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(patch("/api/v1/tasks/{id}", task.getId())
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Second\"}"))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/update/{id}", task.getId()).param("version", "0")
+                        .with(user(owner)).with(csrf()))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void retriedPostWithSameIdempotencyKeyIsReplayed() throws Exception {
+        String bearer = "Bearer " + jwtService.generateToken(owner);
+        String first = mockMvc.perform(post("/api/v1/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Once\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/api/v1/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Once\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(first));
+
+        mockMvc.perform(post("/api/v1/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, bearer)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"Something else\"}"))
+                .andExpect(status().isUnprocessableContent());
+
+        mockMvc.perform(get("/api/v1/tasks").with(user(owner)))
+                .andExpect(jsonPath("$.tasks.length()").value(2));
+    }
+
+    @Test
+    void batchToggleReportsEachOwnTaskOnce() throws Exception {
+        Task foreign = taskRepository.save(Task.builder().title("Not mine").status(false).user(newUser()).build());
+        String id = task.getId().toString();
+
+        mockMvc.perform(post("/batch/update").param("ids", id, id, foreign.getId().toString())
+                        .with(user(owner)).with(csrf()))
+                .andExpect(status().is3xxRedirection());
+
+        assertThat(events.stream(TaskEvent.class).filter(event -> event.getType() == TaskEvent.Type.TOGGLED))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getIds()).containsExactly(task.getId()));
+        mockMvc.perform(get("/api/v1/tasks/{id}", task.getId()).with(user(owner)))
+                .andExpect(jsonPath("$.status").value(true));
+    }
+
+    @Test
+    void bearerClientsNeedNoCsrfTokenAndAnonymousCallsGet401() throws Exception {
+        mockMvc.perform(post("/api/v1/tasks")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken(owner))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\": \"From a script\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.title").value("From a script"));
+
+        mockMvc.perform(get("/api/v1/tasks"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void changesReturnTombstonesOfDeletedTasksAndRefuseExpiredTokens() throws Exception {
+        String token = JsonPath.read(mockMvc.perform(get("/api/v1/tasks/changes").with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserted[0].id").value(task.getId()))
+                .andExpect(jsonPath("$.deleted").isEmpty())
+                .andReturn().getResponse().getContentAsString(), "$.token");
+
+        mockMvc.perform(delete("/api/v1/tasks/{id}", task.getId()).with(user(owner)).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/tasks/changes").param("since", token).with(user(owner)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.upserted").isEmpty())
+                .andExpect(jsonPath("$.deleted[0]").value(task.getId()));
+
+        mockMvc.perform(get("/api/v1/tasks/changes").param("since", "1.0").with(user(owner)))
+                .andExpect(status().isGone());
+        mockMvc.perform(get("/api/v1/tasks/changes").param("since", "latest").with(user(owner)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private User newUser() {
+        User user = new User("api", UUID.randomUUID() + "@api.local", "{noop}secret");
+        user.setEnabled(true);
+        return userRepository.save(user);
+    }
+}
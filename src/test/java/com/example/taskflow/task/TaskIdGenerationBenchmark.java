@@ -0,0 +1,163 @@
+package com.example.taskflow.task;
+
+import com.example.taskflow.support.EmbeddedPostgresSupport;
+import com.example.taskflow.task.service.TaskService;
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts 100k tasks with the statements Hibernate issues under each id
+ * strategy — IDENTITY (one round trip per row, no batching) versus a pooled
+ * sequence (one nextval per 50 ids, batched inserts) — and then through the
+ * real {@link TaskService#addAll} path. Run with {@code ./mvnw -Pbenchmarks test}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class TaskIdGenerationBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int SERVICE_CHUNK = 500;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDataSource(registry);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void identityVersusPooledSequence() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            createBenchmarkTables(connection);
+            report("IDENTITY, row by row", time(() -> insertWithIdentity(connection)));
+            report("pooled sequence, batched", time(() -> insertWithPooledSequence(connection)));
+        }
+
+        User user = new User("bench", UUID.randomUUID() + "@bench.local", "{noop}secret");
+        user.setEnabled(true);
+        User owner = userRepository.save(user);
+        report("TaskService.addAll (Hibernate)", time(() -> {
+            for (int from = 0; from < ROWS; from += SERVICE_CHUNK) {
+                List<String> titles = new ArrayList<>(SERVICE_CHUNK);
+                for (int i = from; i < from + SERVICE_CHUNK; i++) {
+                    titles.add("Task " + i);
+                }
+                taskService.addAll(owner, titles);
+            }
+        }));
+    }
+
+    private static void createBenchmarkTables(Connection connection) throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("drop table if exists bench_identity_task");
+            ddl.execute("drop table if exists bench_sequence_task");
+            ddl.execute("drop sequence if exists bench_task_seq");
+            ddl.execute("""
+                    create table bench_identity_task (
+                        id bigint generated by default as identity primary key,
+                        title varchar(255) not null,
+                        status boolean not null,
+                        user_id bigint not null)
+                    """);
+            ddl.execute("""
+                    create table bench_sequence_task (
+                        id bigint primary key,
+                        title varchar(255) not null,
+                        status boolean not null,
+                        user_id bigint not null)
+                    """);
+            ddl.execute("create sequence bench_task_seq start with 1 increment by " + ALLOCATION_SIZE);
+        }
+    }
+
+    // ── what Hibernate must do for IDENTITY: execute each insert to learn its id ──
+    private static void insertWithIdentity(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into bench_identity_task (title, status, user_id) values (?, ?, ?)",
+                new String[]{"id"})) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setString(1, "Task " + i);
+                insert.setBoolean(2, false);
+                insert.setLong(3, 1L);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                }
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    // ── pooled optimizer: one nextval reserves a block of ids, inserts are batched ──
+    private static void insertWithPooledSequence(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement nextval = connection.prepareStatement("select nextval('bench_task_seq')");
+             PreparedStatement insert = connection.prepareStatement(
+                     "insert into bench_sequence_task (id, title, status, user_id) values (?, ?, ?, ?)")) {
+            long next = 0;
+            long hi = -1;
+            for (int i = 0; i < ROWS; i++) {
+                if (next > hi) {
+                    try (ResultSet rs = nextval.executeQuery()) {
+                        rs.next();
+                        hi = rs.getLong(1) + ALLOCATION_SIZE - 1;
+                        next = rs.getLong(1);
+                    }
+                }
+                insert.setLong(1, next++);
+                insert.setString(2, "Task " + i);
+                insert.setBoolean(3, false);
+                insert.setLong(4, 1L);
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private static long time(SqlWork work) throws SQLException {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String strategy, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-32s %,d rows in %.2f s (%,.0f rows/s)%n", strategy, ROWS, seconds, ROWS / seconds);
+    }
+
+    @FunctionalInterface
+    private interface SqlWork {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.taskflow.task;
+
+import com.example.taskflow.support.EmbeddedPostgresSupport;
+import com.example.taskflow.task.dto.TaskView;
+import com.example.taskflow.task.entity.Task;
+import com.example.taskflow.task.repository.ITaskRepository;
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Heap allocated per home-page listing: managed {@link Task} entities versus
+ * {@link TaskView} projections, both read in a read-only transaction.
+ * Run with {@code ./mvnw -Pbenchmarks test}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskListingAllocationBenchmark {
+
+    private static final int TASKS = 2_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP = 500;
+    private static final int ITERATIONS = 2_000;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDataSource(registry);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Long userId;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        User user = new User("bench", UUID.randomUUID() + "@bench.local", "{noop}secret");
+        user.setEnabled(true);
+        user = userRepository.save(user);
+        userId = user.getId();
+
+        List<Task> tasks = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(Task.builder().title("Task " + i).status(i % 3 == 0).user(user).build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void entityVersusProjectionListing() {
+        long entityBytes = bytesPerCall(() -> readOnly.execute(status -> {
+            List<Task> page = taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                    userId, 0L, Limit.of(PAGE_SIZE + 1), Task.class);
+            // touch what index.html renders
+            long checksum = 0;
+            for (Task task : page) {
+                checksum += task.getId() + task.getTitle().length() + (task.isStatus() ? 1 : 0);
+            }
+            return checksum;
+        }));
+
+        long projectionBytes = bytesPerCall(() -> readOnly.execute(status -> {
+            List<TaskView> page = taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                    userId, 0L, Limit.of(PAGE_SIZE + 1), TaskView.class);
+            long checksum = 0;
+            for (TaskView task : page) {
+                checksum += task.getId() + task.getTitle().length() + (task.isStatus() ? 1 : 0);
+            }
+            return checksum;
+        }));
+
+        System.out.printf("task listing (%d rows/page): entities %,d B/op, projections %,d B/op (%.1f%%)%n",
+                PAGE_SIZE, entityBytes, projectionBytes, 100.0 * projectionBytes / entityBytes);
+    }
+
+    private static long bytesPerCall(Supplier<Long> call) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP; i++) {
+            call.get();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+}
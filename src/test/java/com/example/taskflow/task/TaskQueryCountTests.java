@@ -0,0 +1,164 @@
+package com.example.taskflow.task;
+
+import com.example.taskflow.support.EmbeddedPostgresSupport;
+import com.example.taskflow.task.dto.TaskFilter;
+import com.example.taskflow.task.entity.Task;
+import com.example.taskflow.task.repository.ITaskRepository;
+import com.example.taskflow.task.service.TaskService;
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import com.example.taskflow.user.service.JwtService;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.taskflow.support.QueryCounts.assertConstant;
+import static com.example.taskflow.support.QueryCounts.assertStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement budgets for the task paths. The home page must not issue more
+ * statements for a user with many tasks than for one with a single task, and
+ * an unchanged list must be revalidated without any.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskQueryCountTests {
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresSupport.registerDataSource(registry);
+    }
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ITaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private MockMvc mockMvc;
+    private User oneTask;
+    private User manyTasks;
+
+    @BeforeAll
+    void seed() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+        oneTask = userWithTasks(1);
+        manyTasks = userWithTasks(30);
+    }
+
+    @Test
+    void listingIsOneSelect() throws Exception {
+        assertStatements(1, () -> taskService.listPage(manyTasks, TaskFilter.ALL, null, null));
+        assertStatements(1, () -> taskService.listPage(manyTasks, TaskFilter.OPEN, null, 10));
+    }
+
+    @Test
+    void toggleAndDeleteAreOneStatementEach() throws Exception {
+        User user = userWithTasks(2);
+        List<Long> ids = taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(
+                        user.getId(), 0L, Limit.of(2), Task.class)
+                .stream().map(Task::getId).toList();
+
+        assertStatements(1, () -> taskService.toggle(user, ids.get(0), null));
+        assertStatements(1, () -> taskService.delete(user, ids.get(0), null));
+        assertStatements(1, () -> taskService.toggleAll(user, ids));
+        assertStatements(1, () -> taskService.clearCompleted(user));
+    }
+
+    @Test
+    void homePageDoesNotGrowWithTaskCount() throws Exception {
+        assertConstant(
+                () -> mockMvc.perform(get("/").with(user(oneTask))).andExpect(status().isOk()),
+                () -> mockMvc.perform(get("/").with(user(manyTasks))).andExpect(status().isOk()));
+    }
+
+    @Test
+    void unchangedHomePageIsRevalidatedWithoutQueries() throws Exception {
+        User user = userWithTasks(3);
+        // the first render opens the session that holds the page's CSRF token,
+        // which the ETag of every later render is keyed on
+        MockHttpSession session = (MockHttpSession) mockMvc.perform(get("/").with(user(user)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getRequest()
+                .getSession(false);
+        assertThat(session).isNotNull();
+        MvcResult first = mockMvc.perform(get("/").with(user(user)).session(session))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertStatements(0, () -> mockMvc.perform(get("/").with(user(user)).session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified()));
+
+        taskService.add(user, "One more");
+        mockMvc.perform(get("/").with(user(user)).session(session)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void revalidationWithoutSessionDoesNotCreateOne() throws Exception {
+        User user = userWithTasks(1);
+        Cookie jwt = new Cookie("jwt", jwtService.generateToken(user));
+        String etag = mockMvc.perform(get("/").cookie(jwt))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        // a JWT client that dropped the session cookie
+        MvcResult revalidated = mockMvc.perform(get("/").cookie(jwt)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertThat(revalidated.getRequest().getSession(false)).isNull();
+    }
+
+    private User userWithTasks(int count) {
+        User user = new User("counted", UUID.randomUUID() + "@query-count.local", "{noop}secret");
+        user.setEnabled(true);
+        User saved = userRepository.save(user);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(Task.builder().title("Task " + i).status(false).user(saved).build());
+        }
+        taskRepository.saveAll(tasks);
+        return saved;
+    }
+}
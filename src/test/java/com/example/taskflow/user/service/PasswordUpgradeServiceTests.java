@@ -0,0 +1,51 @@
+package com.example.taskflow.user.service;
+
+import com.example.taskflow.exception.TooManyRequestsException;
+import com.example.taskflow.user.entity.User;
+import com.example.taskflow.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordUpgradeServiceTests {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserLookupCache userLookupCache = mock(UserLookupCache.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+
+    private final PasswordUpgradeService service = new PasswordUpgradeService(
+            userRepository, userLookupCache, passwordEncoder, transactionTemplate);
+
+    private final User user = new User("upgrade", "upgrade@taskflow.local", "{bcrypt}outdated");
+
+    @Test
+    void rejectedRehashKeepsTheOldHash() {
+        when(passwordEncoder.upgradeEncoding("{bcrypt}outdated")).thenReturn(true);
+        when(passwordEncoder.encode("secret"))
+                .thenThrow(new TooManyRequestsException("busy", Duration.ofSeconds(1)));
+
+        service.upgradeIfOutdated(user, "secret");
+
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+        verify(userLookupCache, never()).evict(anyString());
+    }
+
+    @Test
+    void currentHashIsNotRehashed() {
+        when(passwordEncoder.upgradeEncoding("{bcrypt}outdated")).thenReturn(false);
+
+        service.upgradeIfOutdated(user, "secret");
+
+        verify(passwordEncoder, never()).encode(any());
+    }
+}